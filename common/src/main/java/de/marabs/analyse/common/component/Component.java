@@ -17,39 +17,141 @@ package de.marabs.analyse.common.component;
 
 import de.marabs.analyse.common.component.type.ComponentAttributeType;
 import de.marabs.analyse.common.component.type.ComponentType;
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.common.util.StringPool;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import static de.marabs.analyse.common.component.type.ComponentType.ROOT;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_MODIFIER;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.START_COLUMN;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.START_LINE;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.STOP_COLUMN;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.STOP_LINE;
+import static de.marabs.analyse.common.component.type.ComponentType.*;
 import static de.marabs.analyse.common.constant.CommonConstants.NULL_NOT_PERMITTED_AS_VALUE_TYPE;
 import static de.marabs.analyse.common.constant.ParserConstants.UNIQUE_DELIMITER;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.*;
 
 /**
- * {@code Component} represents a node in the abstract syntax tree.
+ * {@code Component} represents a node in the abstract syntax tree.<br>
+ * Two components are equal if their type, value and parent are equal. The hash code is computed once and cached,
+ * changing the type, value or parent discards the cached values of the component and all its descendants. The unique
+ * coordinate is not cached, a copy of the path of every component would take more memory than the whole tree.<br>
+ * The cached values, the children, the child index and the {@link ComponentNumbering} are not synchronized, a tree is
+ * read and modified by one thread only (e.g. the merge of the application).<br>
+ * Components without children or attributes share an empty list, so children and attributes have to be added by
+ * {@link #addChild(Component)} and {@link #addAttribute(ComponentAttribute)}. {@link #getChildren()} and
+ * {@link #getAttributes()} return read-only views whether the component has children and attributes or not.<br>
+ * The attributes are stored grouped by their type, each group is an immutable list in the order the attributes were
+ * added. Lookups by type return the group itself, so they allocate nothing and compare only attributes of one type.
  *
  * @author Martin Absmeier
  */
 @Data
 @NoArgsConstructor
-@EqualsAndHashCode
 public class Component implements Serializable {
     private static final long serialVersionUID = 8508603552627381045L;
 
+    /**
+     * Number of children from which on a child is looked up by its value instead of scanning all children.
+     */
+    private static final int CHILD_INDEX_THRESHOLD = 16;
+
+    /**
+     * Shared empty lists of the components without children or attributes, they are replaced on the first add.
+     */
+    private static final List<Component> NO_CHILDREN = Collections.emptyList();
+    private static final List<ComponentAttribute> NO_ATTRIBUTES = Collections.emptyList();
+
+    /**
+     * The modifier attributes per modifier bitset, shared by all components with the same modifiers.
+     */
+    private static final Map<Integer, List<ComponentAttribute>> MODIFIER_ATTRIBUTES = new ConcurrentHashMap<>();
+    private static final List<ComponentAttributeType> SOURCE_POSITION_TYPES = List.of(START_LINE, START_COLUMN, STOP_LINE, STOP_COLUMN);
+
     private ComponentType type;
     private String value;
     private Component parent;
-    @EqualsAndHashCode.Exclude
-    private List<ComponentAttribute> attributes;
-    @EqualsAndHashCode.Exclude
-    private List<Component> children;
+    private List<Component> children = NO_CHILDREN;
+
+    /**
+     * The stored attributes grouped by their type, NULL until the first attribute is added. It is the only storage of
+     * the attributes, see {@link #getAttributes()}.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<ComponentAttributeType, List<ComponentAttribute>> attributes;
+
+    /**
+     * The line (high 32 bits) and column (low 32 bits) of the start and the end of the source code of this component,
+     * 0 if the position is unknown.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long startPosition;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long stopPosition;
+
+    /**
+     * The bitset of the {@link ModifierType}s of this component.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int modifiers;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int cachedHashCode;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient boolean ancestorsResolved;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Component enclosingPackage;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Component topLevelType;
+
+    /**
+     * The numbering of the tree this component belongs to and the interval of this component in it, see
+     * {@link ComponentNumbering}. NULL until the tree is numbered.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient ComponentNumbering numbering;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int preorderNumber;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int lastDescendantNumber;
+
+    /**
+     * The children by value, built once the number of children exceeds {@link #CHILD_INDEX_THRESHOLD}. It is read and
+     * updated together with the children by the thread that modifies the tree.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Map<String, List<Component>> childIndex;
 
     /**
      * Create a new instance specified by {@code type} and {@code value}.
@@ -61,8 +163,6 @@ public class Component implements Serializable {
     public Component(ComponentType type, String value) {
         this.type = type;
         this.value = value;
-        this.attributes = new ArrayList<>();
-        this.children = new ArrayList<>();
     }
 
     // #################################################################################################################
@@ -75,7 +175,14 @@ public class Component implements Serializable {
     public void addChild(Component child) {
         requireNonNull(child, "NULL is not permitted as value for parameter 'child'.");
         child.setParent(this);
+        if (children == NO_CHILDREN) {
+            children = new ArrayList<>(2);
+        }
         children.add(child);
+        if (nonNull(childIndex)) {
+            indexChild(child);
+        }
+        invalidateNumbering();
     }
 
     /**
@@ -86,10 +193,38 @@ public class Component implements Serializable {
      */
     public Component findChild(Component component) {
         requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
-        return children.stream()
-            .filter(child -> child.equals(component))
-            .findFirst()
-            .orElse(null);
+
+        List<Component> candidates = children.size() > CHILD_INDEX_THRESHOLD
+            ? getChildIndex().getOrDefault(component.getValue(), List.of())
+            : children;
+        for (Component child : candidates) {
+            if (child.equals(component)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the first child specified by {@code type} and {@code value}, children with the same type and value (e.g.
+     * overloaded methods) are kept in the order they were added.
+     *
+     * @param type  the type of the child
+     * @param value the value of the child
+     * @return the first child with the type and value or NULL if no one is found
+     */
+    public Component findChildByTypeAndValue(ComponentType type, String value) {
+        requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
+
+        List<Component> candidates = children.size() > CHILD_INDEX_THRESHOLD
+            ? getChildIndex().getOrDefault(value, List.of())
+            : children;
+        for (Component child : candidates) {
+            if (child.isType(type) && Objects.equals(child.getValue(), value)) {
+                return child;
+            }
+        }
+        return null;
     }
 
     /**
@@ -134,11 +269,132 @@ public class Component implements Serializable {
      * @return true if the component does not know the child, otherwise false
      */
     public boolean childrenNotContains(Component component) {
-        return !children.contains(component);
+        return isNull(findChild(component));
+    }
+
+    /**
+     * Replaces the values of this {@link Component}, all its descendants and their attributes by the equal instances of
+     * the specified {@code pool}.<br>
+     * An equal value keeps the hash code, the unique coordinate and the child index of the parent valid, so unlike
+     * {@link #setValue(String)} no cached values are invalidated.
+     *
+     * @param pool the pool to intern the values
+     */
+    public void internValues(StringPool pool) {
+        requireNonNull(pool, "NULL is not permitted as a value for the 'pool' parameter.");
+
+        Deque<Component> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            Component component = stack.pop();
+            component.value = pool.intern(component.value);
+            if (nonNull(component.attributes)) {
+                component.attributes.values().forEach(group -> group.forEach(attribute -> attribute.internValue(pool)));
+            }
+            if (nonNull(component.children)) {
+                component.children.forEach(stack::push);
+            }
+        }
+    }
+
+    /**
+     * Reduces the memory of this {@link Component} and all its descendants once no more children or attributes are
+     * added (e.g. after all files have been merged). Empty lists of children are replaced by a shared empty list and the
+     * capacity of the other ones is reduced to their size, the groups of attributes are immutable and sized already.
+     * Children can still be added afterwards.
+     */
+    public void trimToSize() {
+        Deque<Component> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            Component component = stack.pop();
+            component.children = trimToSize(component.children, NO_CHILDREN);
+            if (nonNull(component.children)) {
+                component.children.forEach(stack::push);
+            }
+        }
+    }
+
+    /**
+     * Returns the children of this {@link Component}.
+     *
+     * @return read-only list with the children, children are added by {@link #addChild(Component)}
+     */
+    public List<Component> getChildren() {
+        return children == NO_CHILDREN ? NO_CHILDREN : unmodifiableList(children);
+    }
+
+    /**
+     * Replaces the children of this {@link Component} by a copy of the specified {@code children}.
+     *
+     * @param children the children
+     */
+    public void setChildren(List<Component> children) {
+        requireNonNull(children, "NULL is not permitted as value for parameter 'children'.");
+        this.children = children.isEmpty() ? NO_CHILDREN : new ArrayList<>(children);
+        childIndex = null;
+        invalidateNumbering();
     }
 
     // #################################################################################################################
 
+    /**
+     * Returns the stored {@link ComponentAttribute}s of this {@link Component} ordered by their type, the attributes of a
+     * type in the order they were added.<br>
+     * The modifiers of {@link ModifierType} and the source position are kept in the modifier bitset and the packed
+     * position, they are not part of this list. Use {@link #getAllAttributes()} to get them as attributes too. The
+     * groups are copied into one list if the attributes have more than one type, so
+     * {@link #findAttributesByType(ComponentAttributeType)} should be preferred.
+     *
+     * @return read-only list with the stored attributes, attributes are added by {@link #addAttribute(ComponentAttribute)}
+     */
+    public List<ComponentAttribute> getAttributes() {
+        if (isNull(attributes)) {
+            return NO_ATTRIBUTES;
+        }
+        if (attributes.size() == 1) {
+            return attributes.values().iterator().next();
+        }
+
+        List<ComponentAttribute> allAttributes = new ArrayList<>();
+        attributes.values().forEach(allAttributes::addAll);
+        return unmodifiableList(allAttributes);
+    }
+
+    /**
+     * Replaces the stored attributes of this {@link Component} by the specified {@code attributes}.
+     *
+     * @param attributes the attributes
+     */
+    public void setAttributes(List<ComponentAttribute> attributes) {
+        requireNonNull(attributes, "NULL is not permitted as value for parameter 'attributes'.");
+        this.attributes = null;
+        attributes.forEach(this::addAttribute);
+    }
+
+    /**
+     * Returns all {@link ComponentAttribute}s of this {@link Component}, the stored ones followed by the modifiers of the
+     * modifier bitset and the source position.
+     *
+     * @return read-only list with all attributes
+     */
+    public List<ComponentAttribute> getAllAttributes() {
+        if (modifiers == 0 && !hasSourcePosition()) {
+            return getAttributes();
+        }
+
+        List<ComponentAttribute> allAttributes = new ArrayList<>(getAttributes());
+        if (modifiers != 0) {
+            allAttributes.addAll(MODIFIER_ATTRIBUTES.computeIfAbsent(modifiers, Component::createModifierAttributes));
+        }
+        if (hasSourcePosition()) {
+            for (ComponentAttributeType type : SOURCE_POSITION_TYPES) {
+                allAttributes.add(new ComponentAttribute(type, String.valueOf(getSourcePosition(type))));
+            }
+        }
+        return unmodifiableList(allAttributes);
+    }
+
     /**
      * Add an {@link ComponentAttribute} specified by {@code attribute} to the {@link Component}.
      *
@@ -146,29 +402,97 @@ public class Component implements Serializable {
      */
     public void addAttribute(ComponentAttribute attribute) {
         requireNonNull(attribute, "NULL is not permitted as value for parameter 'attribute'.");
-        attributes.add(attribute);
+        requireNonNull(attribute.getType(), "NULL is not permitted as type of parameter 'attribute'.");
+        if (isNull(attributes)) {
+            attributes = new EnumMap<>(ComponentAttributeType.class);
+        }
+        List<ComponentAttribute> group = attributes.get(attribute.getType());
+        attributes.put(attribute.getType(), isNull(group) ? List.of(attribute) : append(group, attribute));
+    }
+
+    /**
+     * Checks whether this {@link Component} has an attribute equal to the specified {@code attribute}.
+     *
+     * @param attribute the component attribute
+     * @return true if the component has an equal attribute, false otherwise
+     */
+    public boolean containsAttribute(ComponentAttribute attribute) {
+        requireNonNull(attribute, "NULL is not permitted as value for parameter 'attribute'.");
+        if (isDerivedAttribute(attribute) && nonNull(attribute.getValue())) {
+            return hasAttributeWithTypeAndValue(attribute.getType(), attribute.getValue());
+        }
+        return nonNull(attribute.getType()) && getStoredAttributesOfType(attribute.getType()).contains(attribute);
+    }
+
+    /**
+     * Adds the specified {@code newAttributes} this {@link Component} does not contain yet.<br>
+     * Each attribute is only compared with the attributes of its type, see {@link #containsAttribute(ComponentAttribute)}.
+     *
+     * @param newAttributes the component attributes to be added
+     */
+    public void addAttributesIfNotContained(List<ComponentAttribute> newAttributes) {
+        requireNonNull(newAttributes, "NULL is not permitted as value for parameter 'newAttributes'.");
+        for (ComponentAttribute attribute : newAttributes) {
+            if (!containsAttribute(attribute)) {
+                addAttribute(attribute);
+            }
+        }
     }
 
     /**
-     * Retrieves all {@link ComponentAttribute}s of this {@link Component} specified by {@code type}.
+     * Retrieves all {@link ComponentAttribute}s of this {@link Component} specified by {@code type}.<br>
+     * The stored attributes are returned as the group of the type without copying. The attributes of the modifiers are
+     * shared by all components with the same modifiers, the attributes of the source position are created for every
+     * call, so {@link #hasModifier(ModifierType)} and {@link #getStartLine()} etc. should be preferred.
      *
      * @param type the type of the searched component attributes
-     * @return list with all component attributes matching the type or an empty list if no one matches
+     * @return read-only list with all component attributes matching the type or an empty list if no one matches
      */
     public List<ComponentAttribute> findAttributesByType(ComponentAttributeType type) {
         requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
-        return getAttributes().stream()
-            .filter(attribute -> type.equals(attribute.getType()))
-            .collect(Collectors.toList());
+        return getAttributesOfType(type);
+    }
+
+    /**
+     * Retrieves the first {@link ComponentAttribute} of this {@link Component} specified by {@code type}.<br>
+     * Unlike {@link #findAttributesByType(ComponentAttributeType)} no list is created, so it should be preferred if only
+     * one attribute of the type is expected.
+     *
+     * @param type the type of the searched component attribute
+     * @return the first component attribute matching the type or NULL if no one matches
+     */
+    public ComponentAttribute findFirstAttributeByType(ComponentAttributeType type) {
+        requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
+        if (isSourcePositionType(type)) {
+            return hasSourcePosition() ? new ComponentAttribute(type, String.valueOf(getSourcePosition(type))) : findFirstStoredAttribute(type);
+        }
+        if (type == JAVA_MODIFIER && modifiers != 0) {
+            return MODIFIER_ATTRIBUTES.computeIfAbsent(modifiers, Component::createModifierAttributes).get(0);
+        }
+        return findFirstStoredAttribute(type);
+    }
+
+    /**
+     * Checks if this {@link Component} has at least one attribute with the specified {@code type}.
+     *
+     * @param type the type of the attribute
+     * @return true if the component has an attribute with specified type, false otherwise
+     */
+    public boolean hasAttributeOfType(ComponentAttributeType type) {
+        requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
+        if ((type == JAVA_MODIFIER && modifiers != 0) || (isSourcePositionType(type) && hasSourcePosition())) {
+            return true;
+        }
+        return !getStoredAttributesOfType(type).isEmpty();
     }
 
     /**
-     * Check if this {@link Component} has attributes.
+     * Check if this {@link Component} has stored attributes, see {@link #getAttributes()}.
      *
      * @return true if the component has attributes, false otherwise
      */
     public boolean hasAttributes() {
-        return !attributes.isEmpty();
+        return nonNull(attributes);
     }
 
     /**
@@ -182,11 +506,136 @@ public class Component implements Serializable {
         requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
         requireNonNull(value, "NULL is not permitted as value for 'value' parameter.");
 
-        ComponentAttribute attByTypeAndValue = findAttributesByType(type).stream()
-            .filter(att -> value.equals(att.getValue()))
-            .findFirst().orElse(null);
+        if (type == JAVA_MODIFIER) {
+            ModifierType modifier = ModifierType.findByKeyword(value);
+            if (nonNull(modifier) && hasModifier(modifier)) {
+                return true;
+            }
+            // Only the modifiers that are not a ModifierType are left
+        } else if (hasSourcePosition() && isSourcePositionType(type)) {
+            return isDecimalOf(value, getSourcePosition(type));
+        }
+        return hasStoredAttribute(type, value);
+    }
+
+    // #################################################################################################################
+
+    /**
+     * Add the specified {@code modifier} to this {@link Component}.<br>
+     * The modifiers are also available as attributes of type {@link ComponentAttributeType#JAVA_MODIFIER} by
+     * {@link #findAttributesByType(ComponentAttributeType)}.
+     *
+     * @param modifier the modifier
+     */
+    public void addModifier(ModifierType modifier) {
+        requireNonNull(modifier, "NULL is not permitted as value for parameter 'modifier'.");
+        modifiers |= modifier.getMask();
+    }
+
+    /**
+     * Add all modifiers of the specified bitset to this {@link Component}.
+     *
+     * @param modifiers the bitset of the modifiers, see {@link #getModifiers()}
+     */
+    public void addModifiers(int modifiers) {
+        this.modifiers |= modifiers;
+    }
+
+    /**
+     * Checks if this {@link Component} has the specified {@code modifier}.
+     *
+     * @param modifier the modifier
+     * @return true if the component has the modifier, false otherwise
+     */
+    public boolean hasModifier(ModifierType modifier) {
+        requireNonNull(modifier, "NULL is not permitted as value for parameter 'modifier'.");
+        return (modifiers & modifier.getMask()) != 0;
+    }
 
-        return nonNull(attByTypeAndValue);
+    /**
+     * Returns the bitset of the modifiers of this {@link Component}, the bit of a modifier is {@link ModifierType#getMask()}.
+     *
+     * @return the bitset of the modifiers
+     */
+    public int getModifiers() {
+        return modifiers;
+    }
+
+    // #################################################################################################################
+
+    /**
+     * Set the position of the source code of this {@link Component}.<br>
+     * The position is also available as attributes of type {@link ComponentAttributeType#START_LINE},
+     * {@link ComponentAttributeType#START_COLUMN}, {@link ComponentAttributeType#STOP_LINE} and
+     * {@link ComponentAttributeType#STOP_COLUMN} by {@link #findAttributesByType(ComponentAttributeType)}.
+     *
+     * @param startLine   the line the source code starts at, the first line is 1
+     * @param startColumn the column the source code starts at
+     * @param stopLine    the line the source code ends at
+     * @param stopColumn  the column the source code ends at
+     */
+    public void setSourcePosition(int startLine, int startColumn, int stopLine, int stopColumn) {
+        if (startLine < 1 || stopLine < 1 || startColumn < 0 || stopColumn < 0) {
+            throw new IllegalArgumentException("Invalid source position [" + startLine + ":" + startColumn + " - " + stopLine + ":" + stopColumn + "].");
+        }
+        startPosition = pack(startLine, startColumn);
+        stopPosition = pack(stopLine, stopColumn);
+    }
+
+    /**
+     * Copies the position of the source code of the specified {@code component} to this {@link Component}.
+     *
+     * @param component the component the position is copied from
+     */
+    public void copySourcePosition(Component component) {
+        requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
+        startPosition = component.startPosition;
+        stopPosition = component.stopPosition;
+    }
+
+    /**
+     * Checks if the position of the source code of this {@link Component} is known.
+     *
+     * @return true if the position is known, false otherwise
+     */
+    public boolean hasSourcePosition() {
+        return startPosition != 0;
+    }
+
+    /**
+     * Returns the line the source code of this {@link Component} starts at.
+     *
+     * @return the line or 0 if the position is unknown
+     */
+    public int getStartLine() {
+        return (int) (startPosition >>> 32);
+    }
+
+    /**
+     * Returns the column the source code of this {@link Component} starts at.
+     *
+     * @return the column or 0 if the position is unknown
+     */
+    public int getStartColumn() {
+        return (int) startPosition;
+    }
+
+    /**
+     * Returns the line the source code of this {@link Component} ends at.
+     *
+     * @return the line or 0 if the position is unknown
+     */
+    public int getStopLine() {
+        return (int) (stopPosition >>> 32);
+    }
+
+    /**
+     * Returns the column the source code of this {@link Component} ends at.
+     *
+     * @return the column or 0 if the position is unknown
+     */
+    public int getStopColumn() {
+        return (int) stopPosition;
     }
 
     // #################################################################################################################
@@ -199,24 +648,73 @@ public class Component implements Serializable {
      */
     public Component findParentByType(ComponentType type) {
         requireNonNull(type, NULL_NOT_PERMITTED_AS_VALUE_TYPE);
-        return findParentByType(this, type);
+        for (Component component = this; component.hasParentAndParentIsNotRoot(); component = component.getParent()) {
+            if (component.getParent().isType(type)) {
+                return component.getParent();
+            }
+        }
+        return null;
     }
 
     /**
      * Returns all parents of this {@link Component} except the parent with type {@link ComponentType#ROOT}.
      *
-     * @return all parents of this component or NULL if there are no parents
+     * @return all parents of this component starting with the nearest one, an empty list if there are no parents
      */
     public List<Component> getAllParents() {
         List<Component> parents = new ArrayList<>();
+        for (Component component = this; component.hasParentAndParentIsNotRoot(); component = component.getParent()) {
+            parents.add(component.getParent());
+        }
+        return parents;
+    }
+
+    /**
+     * Checks if this {@link Component} is a descendant of the specified {@code ancestor}.<br>
+     * The tree is numbered by {@link ComponentNumbering} on the first query after it was modified, then this is an
+     * integer comparison instead of walking up the parents.
+     *
+     * @param ancestor the possible ancestor
+     * @return true if this component is a descendant of the ancestor, false otherwise (also for the ancestor itself)
+     */
+    public boolean isDescendantOf(Component ancestor) {
+        requireNonNull(ancestor, "NULL is not permitted as value for parameter 'ancestor'.");
 
-        if (hasParentAndParentIsNotRoot()) {
-            Component parent = getParent();
-            parents.add(parent);
-            parents.addAll(parent.getAllParents());
+        ComponentNumbering currentNumbering = ComponentNumbering.of(this);
+        if (currentNumbering.contains(this)) {
+            return currentNumbering.isDescendant(this, ancestor);
         }
+        // This component is not a child of its parent, so it is not numbered
+        for (Component component = parent; nonNull(component); component = component.parent) {
+            if (component == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return parents;
+    /**
+     * Returns the nearest parent of this {@link Component} with type {@link ComponentType#JAVA_PACKAGE}.<br>
+     * The parent is cached until this component or one of its parents is moved, so components of the same package
+     * of a tree return the same instance.
+     *
+     * @return the package or NULL if the component is not within a package
+     */
+    public Component getEnclosingPackage() {
+        resolveAncestors();
+        return enclosingPackage;
+    }
+
+    /**
+     * Returns the outermost class, interface or enumeration that contains this {@link Component}, this component itself
+     * if it is a top level type.<br>
+     * The type is cached until this component or one of its parents is moved.
+     *
+     * @return the top level type or NULL if the component is not within a type
+     */
+    public Component getTopLevelType() {
+        resolveAncestors();
+        return topLevelType;
     }
 
     /**
@@ -256,15 +754,90 @@ public class Component implements Serializable {
      * @return the unique coordinate
      */
     public String getUniqueCoordinate() {
-        String uniqueCoordinate = getValue();
+        if (!hasParentAndParentIsNotRoot()) {
+            return getValue();
+        }
+
+        // The values are collected up to the root and appended once, instead of concatenating a string per parent
+        Deque<String> values = new ArrayDeque<>();
+        values.push(getValue());
+        int length = getValue().length();
+        for (Component component = this; component.hasParentAndParentIsNotRoot(); component = component.getParent()) {
+            String parentValue = component.getParent().getValue();
+            values.push(parentValue);
+            length += UNIQUE_DELIMITER.length() + parentValue.length();
+        }
+
+        StringBuilder uniqueCoordinate = new StringBuilder(length);
+        for (String value : values) {
+            if (uniqueCoordinate.length() > 0) {
+                uniqueCoordinate.append(UNIQUE_DELIMITER);
+            }
+            uniqueCoordinate.append(value);
+        }
+        return uniqueCoordinate.toString();
+    }
+
+    /**
+     * Set the type of this {@link Component}.
+     *
+     * @param type the type
+     */
+    public void setType(ComponentType type) {
+        this.type = type;
+        invalidateCachedValues();
+        invalidateChildIndexOfParent();
+    }
+
+    /**
+     * Set the value of this {@link Component}.
+     *
+     * @param value the value
+     */
+    public void setValue(String value) {
+        this.value = value;
+        invalidateCachedValues();
+        invalidateChildIndexOfParent();
+    }
+
+    /**
+     * Set the parent of this {@link Component}.
+     *
+     * @param parent the parent
+     */
+    public void setParent(Component parent) {
+        if (this.parent != parent) {
+            this.parent = parent;
+            invalidateCachedValues();
+            invalidateNumbering();
+        }
+    }
 
-        if (hasParentAndParentIsNotRoot()) {
-            return getParent().getUniqueCoordinate()
-                .concat(UNIQUE_DELIMITER)
-                .concat(uniqueCoordinate);
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Component)) {
+            return false;
         }
 
-        return uniqueCoordinate;
+        Component other = (Component) obj;
+        // The cached hash codes reject most of the unequal components without walking up the parents
+        return hashCode() == other.hashCode()
+            && type == other.type
+            && Objects.equals(value, other.value)
+            && (parent == other.parent || (nonNull(parent) && parent.equals(other.parent)));
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = cachedHashCode;
+        if (hashCode == 0) {
+            hashCode = Objects.hash(type, value, parent);
+            cachedHashCode = hashCode;
+        }
+        return hashCode;
     }
 
     @Override
@@ -274,14 +847,192 @@ public class Component implements Serializable {
     }
 
     // #################################################################################################################
-    private Component findParentByType(Component component, ComponentType type) {
-        if (component.hasParentAndParentIsNotRoot()) {
-            Component parentComponent = component.getParent();
-            if (parentComponent.isType(type)) {
-                return parentComponent;
+    private Map<String, List<Component>> getChildIndex() {
+        if (isNull(childIndex)) {
+            Map<String, List<Component>> index = new HashMap<>();
+            children.forEach(child -> indexChild(index, child));
+            childIndex = index;
+        }
+        return childIndex;
+    }
+
+    private void indexChild(Component child) {
+        indexChild(childIndex, child);
+    }
+
+    private static void indexChild(Map<String, List<Component>> index, Component child) {
+        // Overloaded methods and constructors have the same value, the list keeps them in the order of the children
+        index.computeIfAbsent(child.getValue(), key -> new ArrayList<>(1)).add(child);
+    }
+
+    private List<ComponentAttribute> getAttributesOfType(ComponentAttributeType type) {
+        if (hasSourcePosition()) {
+            List<ComponentAttribute> position = getSourcePositionAttribute(type);
+            if (nonNull(position)) {
+                return position;
             }
-            return findParentByType(parentComponent, type);
         }
-        return null;
+        if (type == JAVA_MODIFIER && modifiers != 0) {
+            return getModifierAttributes();
+        }
+        return getStoredAttributesOfType(type);
+    }
+
+    private List<ComponentAttribute> getStoredAttributesOfType(ComponentAttributeType type) {
+        return isNull(attributes) ? NO_ATTRIBUTES : attributes.getOrDefault(type, NO_ATTRIBUTES);
+    }
+
+    private ComponentAttribute findFirstStoredAttribute(ComponentAttributeType type) {
+        List<ComponentAttribute> group = getStoredAttributesOfType(type);
+        return group.isEmpty() ? null : group.get(0);
+    }
+
+    private boolean hasStoredAttribute(ComponentAttributeType type, String value) {
+        for (ComponentAttribute attribute : getStoredAttributesOfType(type)) {
+            if (value.equals(attribute.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<ComponentAttribute> append(List<ComponentAttribute> group, ComponentAttribute attribute) {
+        // The groups hold a few attributes, copying them keeps every group immutable and exactly sized
+        ComponentAttribute[] appended = group.toArray(new ComponentAttribute[group.size() + 1]);
+        appended[group.size()] = attribute;
+        return List.of(appended);
+    }
+
+    private boolean isDerivedAttribute(ComponentAttribute attribute) {
+        ComponentAttributeType type = attribute.getType();
+        return type == JAVA_MODIFIER || isSourcePositionType(type);
+    }
+
+    private static boolean isSourcePositionType(ComponentAttributeType type) {
+        return type == START_LINE || type == START_COLUMN || type == STOP_LINE || type == STOP_COLUMN;
+    }
+
+    private List<ComponentAttribute> getSourcePositionAttribute(ComponentAttributeType type) {
+        // Only for callers of findAttributesByType, the predicates compare the packed position directly
+        return isSourcePositionType(type)
+            ? List.of(new ComponentAttribute(type, String.valueOf(getSourcePosition(type))))
+            : null;
+    }
+
+    private int getSourcePosition(ComponentAttributeType type) {
+        switch (type) {
+            case START_LINE:
+                return getStartLine();
+            case START_COLUMN:
+                return getStartColumn();
+            case STOP_LINE:
+                return getStopLine();
+            case STOP_COLUMN:
+                return getStopColumn();
+            default:
+                throw new IllegalArgumentException("No source position type: " + type);
+        }
+    }
+
+    private static boolean isDecimalOf(String value, int number) {
+        try {
+            return Integer.parseInt(value) == number;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private List<ComponentAttribute> getModifierAttributes() {
+        List<ComponentAttribute> modifierAttributes = MODIFIER_ATTRIBUTES.computeIfAbsent(modifiers, Component::createModifierAttributes);
+        List<ComponentAttribute> storedModifiers = getStoredAttributesOfType(JAVA_MODIFIER);
+        if (storedModifiers.isEmpty()) {
+            return modifierAttributes;
+        }
+
+        List<ComponentAttribute> allModifiers = new ArrayList<>(modifierAttributes);
+        allModifiers.addAll(storedModifiers);
+        return unmodifiableList(allModifiers);
+    }
+
+    private static List<ComponentAttribute> createModifierAttributes(int modifiers) {
+        List<ComponentAttribute> modifierAttributes = new ArrayList<>();
+        for (ModifierType modifier : ModifierType.values()) {
+            if ((modifiers & modifier.getMask()) != 0) {
+                modifierAttributes.add(ComponentAttribute.modifier(modifier));
+            }
+        }
+        return List.copyOf(modifierAttributes);
+    }
+
+    private static long pack(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private void invalidateChildIndexOfParent() {
+        if (nonNull(parent)) {
+            parent.childIndex = null;
+        }
+    }
+
+    private static <T> List<T> trimToSize(List<T> list, List<T> emptyList) {
+        if (list instanceof ArrayList) {
+            if (list.isEmpty()) {
+                return emptyList;
+            }
+            ((ArrayList<T>) list).trimToSize();
+        }
+        return list;
+    }
+
+    private void resolveAncestors() {
+        if (!ancestorsResolved) {
+            enclosingPackage = null;
+            topLevelType = null;
+            if (hasParentAndParentIsNotRoot()) {
+                enclosingPackage = parent.isType(JAVA_PACKAGE) ? parent : parent.getEnclosingPackage();
+                topLevelType = parent.getTopLevelType();
+            }
+            if (isNull(topLevelType) && (isType(JAVA_CLASS) || isType(JAVA_INTERFACE) || isType(JAVA_ENUM))) {
+                topLevelType = this;
+            }
+            ancestorsResolved = true;
+        }
+    }
+
+    private void invalidateCachedValues() {
+        cachedHashCode = 0;
+        ancestorsResolved = false;
+        enclosingPackage = null;
+        topLevelType = null;
+        if (nonNull(children)) {
+            children.forEach(Component::invalidateCachedValues);
+        }
+    }
+
+    private void invalidateNumbering() {
+        if (nonNull(numbering)) {
+            numbering.invalidate();
+        }
+    }
+
+    // #################################################################################################################
+    // Numbering
+
+    void assignNumber(ComponentNumbering numbering, int preorderNumber, int lastDescendantNumber) {
+        this.numbering = numbering;
+        this.preorderNumber = preorderNumber;
+        this.lastDescendantNumber = lastDescendantNumber;
+    }
+
+    ComponentNumbering getNumbering() {
+        return numbering;
+    }
+
+    int getPreorderNumber() {
+        return preorderNumber;
+    }
+
+    int getLastDescendantNumber() {
+        return lastDescendantNumber;
     }
 }
\ No newline at end of file
@@ -16,12 +16,17 @@
 package de.marabs.analyse.common.component;
 
 import de.marabs.analyse.common.component.type.ComponentAttributeType;
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.common.util.StringPool;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
 
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_MODIFIER;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 
@@ -35,6 +40,11 @@ import static java.util.Objects.requireNonNull;
 public class ComponentAttribute implements Serializable {
     private static final long serialVersionUID = 5154990433075712253L;
 
+    /**
+     * The shared instances of the modifier keywords, see {@link #modifier(ModifierType)}.
+     */
+    private static final Map<ModifierType, ComponentAttribute> MODIFIER_ATTRIBUTES = createModifierAttributes();
+
     private ComponentAttributeType type;
     private String value;
 
@@ -50,6 +60,33 @@ public class ComponentAttribute implements Serializable {
         this.value = value;
     }
 
+    /**
+     * Returns the shared attribute of type {@link ComponentAttributeType#JAVA_MODIFIER} of the specified
+     * {@code modifier}.<br>
+     * All components reference one instance per modifier. The shared instances can not be modified and are kept for the
+     * lifetime of the JVM, which is bounded by the number of modifiers. Attributes with unbounded values (e.g. types)
+     * are shared by the {@link ComponentAttributePool} of the analysis instead.
+     *
+     * @param modifier the modifier
+     * @return the shared attribute
+     */
+    public static ComponentAttribute modifier(ModifierType modifier) {
+        requireNonNull(modifier, "NULL is not permitted as value for parameter 'modifier'.");
+        return MODIFIER_ATTRIBUTES.get(modifier);
+    }
+
+    /**
+     * Creates an attribute specified by {@code type} and {@code value} that can not be modified, so it can be shared by
+     * many components (e.g. by the {@link ComponentAttributePool}).
+     *
+     * @param type  the {@link ComponentAttributeType} of the attribute
+     * @param value the value of the attribute
+     * @return the attribute that can not be modified
+     */
+    static ComponentAttribute shared(ComponentAttributeType type, String value) {
+        return new SharedComponentAttribute(type, value);
+    }
+
     /**
      * Checks whether this {@link ComponentAttribute} is of type specified by {@code type}.
      *
@@ -61,8 +98,55 @@ public class ComponentAttribute implements Serializable {
         return type.equals(getType());
     }
 
+    /**
+     * Replaces the value of this {@link ComponentAttribute} by the equal instance of the specified {@code pool}.<br>
+     * An equal value keeps the hash code, so the attribute stays valid in hashed collections. The value of a shared
+     * attribute is kept, it is one instance for all components already.
+     *
+     * @param pool the pool to intern the value
+     */
+    public void internValue(StringPool pool) {
+        requireNonNull(pool, "NULL is not permitted as a value for the 'pool' parameter.");
+        value = pool.intern(value);
+    }
+
     @Override
     public String toString() {
         return isNull(type) ? "UNKNOWN".concat(" -> ").concat(value) : type.name().concat(" -> ").concat(value);
     }
+
+    // #################################################################################################################
+    private static Map<ModifierType, ComponentAttribute> createModifierAttributes() {
+        Map<ModifierType, ComponentAttribute> modifierAttributes = new EnumMap<>(ModifierType.class);
+        for (ModifierType modifier : ModifierType.values()) {
+            modifierAttributes.put(modifier, new SharedComponentAttribute(JAVA_MODIFIER, modifier.getKeyword()));
+        }
+        return modifierAttributes;
+    }
+
+    /**
+     * A shared attribute is referenced by many components, so it must not be modified.
+     */
+    private static final class SharedComponentAttribute extends ComponentAttribute {
+        private static final long serialVersionUID = -2645436245186519873L;
+
+        private SharedComponentAttribute(ComponentAttributeType type, String value) {
+            super(type, value);
+        }
+
+        @Override
+        public void setType(ComponentAttributeType type) {
+            throw new UnsupportedOperationException("A shared attribute can not be modified.");
+        }
+
+        @Override
+        public void setValue(String value) {
+            throw new UnsupportedOperationException("A shared attribute can not be modified.");
+        }
+
+        @Override
+        public void internValue(StringPool pool) {
+            // The keyword is the value of every component with this modifier
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component;
+
+import de.marabs.analyse.common.component.type.ComponentAttributeType;
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.common.util.StringPool;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_MODIFIER;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code ComponentAttributePool} shares equal {@link ComponentAttribute}s that repeat across many components (e.g. the
+ * source name of all components of a file, types and annotations), so a repeated attribute is one instance instead of
+ * one per component.<br>
+ * The pooled attributes can not be modified, their values are interned in the {@link StringPool} of the pool. The pool
+ * is thread safe. Like the string pool it is owned by an application and collected together with it.
+ *
+ * @author Martin Absmeier
+ */
+public final class ComponentAttributePool {
+
+    private final StringPool stringPool;
+    private final Map<ComponentAttributeType, Map<String, ComponentAttribute>> attributes;
+
+    /**
+     * Creates a new empty pool that interns the values of the attributes in the specified {@code stringPool}.
+     *
+     * @param stringPool the pool of the values
+     */
+    public ComponentAttributePool(StringPool stringPool) {
+        this.stringPool = requireNonNull(stringPool, "NULL is not permitted as a value for the 'stringPool' parameter.");
+        // All types are created upfront, so the map of the types is only read concurrently
+        this.attributes = new EnumMap<>(ComponentAttributeType.class);
+        for (ComponentAttributeType type : ComponentAttributeType.values()) {
+            attributes.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the pooled attribute specified by {@code type} and {@code value}, it is created if no equal one is pooled
+     * yet. The modifier keywords return {@link ComponentAttribute#modifier(ModifierType)}.
+     *
+     * @param type  the type of the attribute
+     * @param value the value of the attribute
+     * @return the pooled attribute that can not be modified, an attribute with NULL as value is not pooled
+     */
+    public ComponentAttribute intern(ComponentAttributeType type, String value) {
+        requireNonNull(type, "NULL is not permitted as a value for the 'type' parameter.");
+        if (isNull(value)) {
+            return new ComponentAttribute(type, null);
+        }
+        if (type == JAVA_MODIFIER) {
+            ModifierType modifier = ModifierType.findByKeyword(value);
+            if (nonNull(modifier)) {
+                return ComponentAttribute.modifier(modifier);
+            }
+        }
+        return attributes.get(type).computeIfAbsent(value, key -> ComponentAttribute.shared(type, stringPool.intern(key)));
+    }
+
+    /**
+     * Returns the number of pooled attributes.
+     *
+     * @return the number of distinct attributes
+     */
+    public int size() {
+        return attributes.values().stream().mapToInt(Map::size).sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code ComponentNumbering} numbers the components of a tree in pre-order.<br>
+ * Each component gets the interval from its own number to the number of its last descendant, so a component is a
+ * descendant of another one if its number is within the interval of the other one, and the descendants of a component
+ * are a contiguous range of the numbered components.<br>
+ * A tree is numbered on the first query by {@link #of(Component)}. Adding children to a numbered component, replacing
+ * its children or moving it to another parent makes the numbering invalid, the tree is numbered again on the next
+ * query. Like the child index of a component the numbering is built by the thread that reads and modifies the tree.
+ *
+ * @author Martin Absmeier
+ */
+public final class ComponentNumbering {
+
+    private final Component[] components;
+    private boolean valid = true;
+
+    private ComponentNumbering(Component[] components) {
+        this.components = components;
+    }
+
+    /**
+     * Returns the valid numbering of the tree of the specified {@code component}, the tree is numbered from its root
+     * if it is not numbered yet or was modified since.
+     *
+     * @param component a component of the tree
+     * @return the numbering of the tree
+     */
+    public static ComponentNumbering of(Component component) {
+        requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
+
+        ComponentNumbering numbering = component.getNumbering();
+        if (nonNull(numbering) && numbering.valid) {
+            return numbering;
+        }
+        Component root = component;
+        while (root.hasParent()) {
+            root = root.getParent();
+        }
+        return number(root);
+    }
+
+    /**
+     * Checks if the specified {@code component} is numbered by this numbering.<br>
+     * A component that was set as parent without adding the child (see {@link Component#addChild(Component)}) is not
+     * reachable from the root, so it is not numbered.
+     *
+     * @param component the component
+     * @return true if the component is numbered by this numbering, false otherwise
+     */
+    public boolean contains(Component component) {
+        requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
+        return component.getNumbering() == this;
+    }
+
+    /**
+     * Checks if the specified {@code component} is a descendant of the specified {@code ancestor}.
+     *
+     * @param component the component numbered by this numbering
+     * @param ancestor  the possible ancestor
+     * @return true if both components are numbered by this numbering and the component is within the interval of the
+     * ancestor, false otherwise (also for the ancestor itself)
+     */
+    public boolean isDescendant(Component component, Component ancestor) {
+        return contains(component) && contains(ancestor)
+            && ancestor.getPreorderNumber() < component.getPreorderNumber()
+            && component.getPreorderNumber() <= ancestor.getLastDescendantNumber();
+    }
+
+    /**
+     * Returns the pre-order number of the specified {@code component}.
+     *
+     * @param component the component numbered by this numbering
+     * @return the number of the component
+     */
+    public int getNumber(Component component) {
+        checkContains(component);
+        return component.getPreorderNumber();
+    }
+
+    /**
+     * Returns the number of the last descendant of the specified {@code component}, the number of the component itself
+     * if it has no children.
+     *
+     * @param component the component numbered by this numbering
+     * @return the last number of the interval of the component
+     */
+    public int getLastDescendantNumber(Component component) {
+        checkContains(component);
+        return component.getLastDescendantNumber();
+    }
+
+    /**
+     * Returns the component with the specified pre-order {@code number}.
+     *
+     * @param number the number of the component
+     * @return the component
+     */
+    public Component getComponent(int number) {
+        return components[number];
+    }
+
+    /**
+     * Returns the specified {@code component} and all its descendants in pre-order.
+     *
+     * @param component the component numbered by this numbering
+     * @return read-only list of the component and its descendants
+     */
+    public List<Component> getSubtree(Component component) {
+        checkContains(component);
+        return unmodifiableList(Arrays.asList(components).subList(component.getPreorderNumber(), component.getLastDescendantNumber() + 1));
+    }
+
+    /**
+     * Checks if the tree was not modified since it was numbered.
+     *
+     * @return true if the numbering is valid, false otherwise
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    // #################################################################################################################
+
+    void invalidate() {
+        valid = false;
+    }
+
+    private void checkContains(Component component) {
+        if (!contains(component)) {
+            throw new IllegalArgumentException("Component [" + component + "] is not numbered by this numbering.");
+        }
+    }
+
+    private static ComponentNumbering number(Component root) {
+        // Collected without recursion, the trees of large applications are deep
+        List<Component> preorder = new ArrayList<>();
+        Deque<Component> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Component component = stack.pop();
+            preorder.add(component);
+            List<Component> children = component.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                if (isChildOf(children.get(i), component)) {
+                    stack.push(children.get(i));
+                }
+            }
+        }
+
+        ComponentNumbering numbering = new ComponentNumbering(preorder.toArray(new Component[0]));
+        // Walking backwards the descendants of a component are numbered before it, its interval ends with the one of its last child
+        for (int number = numbering.components.length - 1; number >= 0; number--) {
+            Component component = numbering.components[number];
+            int lastDescendantNumber = number;
+            List<Component> children = component.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                if (isChildOf(children.get(i), component)) {
+                    lastDescendantNumber = children.get(i).getLastDescendantNumber();
+                    break;
+                }
+            }
+            component.assignNumber(numbering, number, lastDescendantNumber);
+        }
+        return numbering;
+    }
+
+    private static boolean isChildOf(Component child, Component component) {
+        // A child that was moved to another parent is still in the list of its former parent
+        return child.getParent() == component;
+    }
+}
\ No newline at end of file
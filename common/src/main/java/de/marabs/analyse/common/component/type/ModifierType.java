@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component.type;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ModifierType} are the modifiers of classes, interfaces and their members.<br>
+ * The modifiers of a component are kept as a bitset, the bit of a modifier is {@link #getMask()}.
+ *
+ * @author Martin Absmeier
+ */
+public enum ModifierType {
+
+    PUBLIC("public"),
+    PROTECTED("protected"),
+    PRIVATE("private"),
+    STATIC("static"),
+    ABSTRACT("abstract"),
+    FINAL("final"),
+    NATIVE("native"),
+    SYNCHRONIZED("synchronized"),
+    TRANSIENT("transient"),
+    VOLATILE("volatile"),
+    STRICTFP("strictfp"),
+    DEFAULT("default"),
+    SEALED("sealed"),
+    NON_SEALED("non-sealed");
+
+    private static final Map<String, ModifierType> BY_KEYWORD = new HashMap<>();
+
+    static {
+        for (ModifierType modifier : values()) {
+            BY_KEYWORD.put(modifier.keyword, modifier);
+        }
+    }
+
+    private final String keyword;
+    private final int mask;
+
+    ModifierType(String keyword) {
+        this.keyword = keyword;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * Returns the keyword of the modifier in the source code.
+     *
+     * @return the keyword
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the bit of the modifier within a modifier bitset.
+     *
+     * @return the bit of the modifier
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Retrieves the modifier specified by {@code keyword}.
+     *
+     * @param keyword the keyword of the modifier (e.g. public)
+     * @return the modifier or NULL if the keyword is not a modifier
+     */
+    public static ModifierType findByKeyword(String keyword) {
+        return BY_KEYWORD.get(keyword);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.text.MessageFormat.format;
+import static java.util.Objects.isNull;
+
+/**
+ * {@code StringPool} deduplicates strings that repeat across many components (e.g. modifiers, type and package names).
+ * Equal strings passed to {@link #intern(String)} are replaced by one instance, so the duplicates can be collected.<br>
+ * The pool is thread safe and keeps statistics about the deduplication. Unlike {@link String#intern()} the strings are
+ * kept on the heap only until the pool is cleared or its owner (e.g. the application of an analysis) is collected, so
+ * there is no pool shared by all analyses.
+ *
+ * @author Martin Absmeier
+ */
+public final class StringPool {
+
+    /**
+     * Estimated bytes of a string object without its characters (object header and fields, array header).
+     */
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder deduplicatedBytes = new LongAdder();
+
+    /**
+     * Returns the pooled instance equal to the specified {@code value}, the value itself becomes the pooled instance if
+     * no equal one is pooled yet.
+     *
+     * @param value the string to be interned
+     * @return the pooled instance or NULL if {@code value} is NULL
+     */
+    public String intern(String value) {
+        if (isNull(value)) {
+            return null;
+        }
+
+        requests.increment();
+        String pooled = strings.putIfAbsent(value, value);
+        if (isNull(pooled)) {
+            return value;
+        }
+        if (pooled != value) {
+            deduplicated.increment();
+            // Latin-1 strings use one byte per character, the array is aligned to 8 bytes
+            deduplicatedBytes.add(STRING_OVERHEAD + ((value.length() + 7) & ~7));
+        }
+        return pooled;
+    }
+
+    /**
+     * Returns the number of pooled strings.
+     *
+     * @return the number of distinct strings
+     */
+    public int size() {
+        return strings.size();
+    }
+
+    /**
+     * Returns the number of calls of {@link #intern(String)} with a non NULL value.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of strings that were replaced by an equal pooled instance.
+     *
+     * @return the number of deduplicated strings
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Returns the estimated bytes of the strings that were replaced by an equal pooled instance.
+     *
+     * @return the estimated bytes that can be collected
+     */
+    public long getDeduplicatedBytes() {
+        return deduplicatedBytes.sum();
+    }
+
+    /**
+     * Removes all strings and resets the statistics.
+     */
+    public void clear() {
+        strings.clear();
+        requests.reset();
+        deduplicated.reset();
+        deduplicatedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return format("StringPool: strings [{0}] | requests [{1}] | deduplicated [{2}] | approx. [{3} KB] saved",
+                      size(), getRequestCount(), getDeduplicatedCount(), getDeduplicatedBytes() / 1024);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component;
+
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.common.util.StringPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link ComponentAttributePool} class.
+ *
+ * @author Martin Absmeier
+ */
+public class ComponentAttributePoolTest {
+
+    private StringPool stringPool;
+    private ComponentAttributePool pool;
+
+    @Before
+    public void setUp() {
+        stringPool = new StringPool();
+        pool = new ComponentAttributePool(stringPool);
+    }
+
+    @Test
+    public void intern() {
+        ComponentAttribute sourceName = pool.intern(SOURCE_NAME, new String("Foo.java".toCharArray()));
+
+        assertSame("We expect the pooled attribute.", sourceName, pool.intern(SOURCE_NAME, new String("Foo.java".toCharArray())));
+        assertNotSame("We expect another attribute for another type.", sourceName, pool.intern(JAVA_TYPE, "Foo.java"));
+        assertEquals("We expect an attribute equal to a created one.", new ComponentAttribute(SOURCE_NAME, "Foo.java"), sourceName);
+        assertSame("We expect the value of the string pool.", stringPool.intern("Foo.java"), sourceName.getValue());
+        assertEquals("We expect 2 pooled attributes.", 2, pool.size());
+        assertThrows("We expect a pooled attribute can not be modified.", UnsupportedOperationException.class, () -> sourceName.setValue("Bar.java"));
+    }
+
+    @Test
+    public void internModifier() {
+        assertSame("We expect the shared modifier.", ComponentAttribute.modifier(ModifierType.STATIC), pool.intern(JAVA_MODIFIER, "static"));
+        assertSame("We expect a pooled modifier that is no keyword.", pool.intern(JAVA_MODIFIER, "@Deprecated"), pool.intern(JAVA_MODIFIER, "@Deprecated"));
+        assertNull("We expect an attribute without value is not pooled.", pool.intern(JAVA_TYPE, null).getValue());
+        assertEquals("We expect 1 pooled attribute.", 1, pool.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link ComponentNumbering} class.
+ *
+ * @author Martin Absmeier
+ */
+public class ComponentNumberingTest {
+
+    private Component root;
+    private Component pkg;
+    private Component clazz;
+    private Component method;
+    private Component field;
+
+    @Before
+    public void setUp() {
+        root = Component.builder().type(ROOT).value(ROOT.name()).build();
+        pkg = Component.builder().type(JAVA_PACKAGE).value("de").build();
+        clazz = Component.builder().type(JAVA_CLASS).value("Foo").build();
+        method = Component.builder().type(JAVA_METHOD).value("bar").build();
+        field = Component.builder().type(JAVA_FIELD).value("baz").build();
+        root.addChild(pkg);
+        pkg.addChild(clazz);
+        clazz.addChild(method);
+        clazz.addChild(field);
+    }
+
+    @Test
+    public void numberInPreOrder() {
+        ComponentNumbering numbering = ComponentNumbering.of(method);
+
+        assertEquals("We expect the root first.", 0, numbering.getNumber(root));
+        assertEquals("We expect the method after the class.", 3, numbering.getNumber(method));
+        assertEquals("We expect the interval of the class to end with the field.", 4, numbering.getLastDescendantNumber(clazz));
+        assertEquals("We expect the interval of the method to end with itself.", 3, numbering.getLastDescendantNumber(method));
+        assertSame("We expect the field as last component.", field, numbering.getComponent(4));
+        assertEquals("We expect the class and its members.", List.of(clazz, method, field), numbering.getSubtree(clazz));
+        assertSame("We expect the same numbering for every component of the tree.", numbering, ComponentNumbering.of(root));
+    }
+
+    @Test
+    public void isDescendantOf() {
+        assertTrue("We expect the method below the package.", method.isDescendantOf(pkg));
+        assertTrue("We expect the method below the root.", method.isDescendantOf(root));
+        assertFalse("We expect the package not below the method.", pkg.isDescendantOf(method));
+        assertFalse("We expect the field not below its sibling.", field.isDescendantOf(method));
+        assertFalse("We expect a component not below itself.", clazz.isDescendantOf(clazz));
+
+        Component otherRoot = Component.builder().type(ROOT).value(ROOT.name()).build();
+        assertFalse("We expect the method not below another tree.", method.isDescendantOf(otherRoot));
+    }
+
+    @Test
+    public void numberAgainAfterModification() {
+        ComponentNumbering numbering = ComponentNumbering.of(root);
+
+        Component other = Component.builder().type(JAVA_PACKAGE).value("other").build();
+        root.addChild(other);
+        assertFalse("We expect an invalid numbering after adding a child.", numbering.isValid());
+
+        other.addChild(clazz);
+        assertTrue("We expect the moved method below the new package.", method.isDescendantOf(other));
+        assertFalse("We expect the moved method not below the former package.", method.isDescendantOf(pkg));
+
+        ComponentNumbering renumbered = ComponentNumbering.of(root);
+        assertNotSame("We expect a new numbering.", numbering, renumbered);
+        assertEquals("We expect the former package without the moved class.", List.of(pkg), renumbered.getSubtree(pkg));
+
+        pkg.setChildren(List.of(field));
+        assertFalse("We expect an invalid numbering after replacing the children.", renumbered.isValid());
+    }
+
+    @Test
+    public void componentNotAddedAsChildIsNotNumbered() {
+        Component detached = Component.builder().type(JAVA_METHOD).value("detached").build();
+        detached.setParent(clazz);
+
+        assertTrue("We expect the parents to be walked up.", detached.isDescendantOf(pkg));
+        assertFalse("We expect the component not to be numbered.", ComponentNumbering.of(root).contains(detached));
+        assertThrows("We expect no number of the component.", IllegalArgumentException.class, () -> ComponentNumbering.of(root).getNumber(detached));
+    }
+}
\ No newline at end of file
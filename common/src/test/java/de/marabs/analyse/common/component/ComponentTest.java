@@ -0,0 +1,308 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.component;
+
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.common.util.StringPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.*;
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link Component} class.
+ *
+ * @author Martin Absmeier
+ */
+public class ComponentTest {
+
+    private Component root;
+    private Component pkg;
+    private Component clazz;
+    private Component method;
+
+    @Before
+    public void setUp() {
+        root = Component.builder().type(ROOT).value(ROOT.name()).build();
+        pkg = Component.builder().type(JAVA_PACKAGE).value("de").build();
+        clazz = Component.builder().type(JAVA_CLASS).value("Foo").build();
+        method = Component.builder().type(JAVA_METHOD).value("bar").build();
+        root.addChild(pkg);
+        pkg.addChild(clazz);
+        clazz.addChild(method);
+    }
+
+    @Test
+    public void getUniqueCoordinate() {
+        assertEquals("We expect the coordinate of the method.", "de.Foo.bar", method.getUniqueCoordinate());
+        assertEquals("We expect the coordinate of the package.", "de", pkg.getUniqueCoordinate());
+        assertEquals("We expect the value of the root.", ROOT.name(), root.getUniqueCoordinate());
+    }
+
+    @Test
+    public void getUniqueCoordinateAfterReparenting() {
+        assertEquals("We expect the coordinate of the method.", "de.Foo.bar", method.getUniqueCoordinate());
+
+        Component other = Component.builder().type(JAVA_PACKAGE).value("other").build();
+        root.addChild(other);
+        other.addChild(clazz);
+        assertEquals("We expect the coordinate below the new parent.", "other.Foo.bar", method.getUniqueCoordinate());
+
+        pkg.setValue("renamed");
+        pkg.addChild(Component.builder().type(JAVA_CLASS).value("Baz").build());
+        assertEquals("We expect the coordinate of the renamed package.", "renamed.Baz", pkg.getChildren().get(1).getUniqueCoordinate());
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        Component otherPkg = Component.builder().type(JAVA_PACKAGE).value("de").build();
+        Component otherClazz = Component.builder().type(JAVA_CLASS).value("Foo").build();
+        Component otherMethod = Component.builder().type(JAVA_METHOD).value("bar").build();
+        otherPkg.addChild(otherClazz);
+        otherClazz.addChild(otherMethod);
+        assertNotEquals("We expect different parents.", method, otherMethod);
+
+        Component otherRoot = Component.builder().type(ROOT).value(ROOT.name()).build();
+        otherRoot.addChild(otherPkg);
+        assertEquals("We expect equal parents.", method, otherMethod);
+        assertEquals("We expect equal hash codes.", method.hashCode(), otherMethod.hashCode());
+        assertNotNull("We expect the child.", clazz.findChild(otherMethod));
+        assertFalse("We expect the child is known.", clazz.childrenNotContains(otherMethod));
+    }
+
+    @Test
+    public void findChildWithManyChildren() {
+        for (int i = 0; i < 100; i++) {
+            clazz.addChild(Component.builder().type(JAVA_FIELD).value("field" + i).build());
+        }
+        Component overload = Component.builder().type(JAVA_METHOD).value("bar").build();
+        clazz.addChild(overload);
+
+        Component field = Component.builder().type(JAVA_FIELD).value("field42").build();
+        field.setParent(clazz);
+        assertSame("We expect the field.", clazz.getChildren().get(43), clazz.findChild(field));
+        assertSame("We expect the first method of the overloads.", method, clazz.findChild(overload));
+        assertNull("We expect no method with the value of the field.", clazz.findChild(Component.builder().type(JAVA_METHOD).value("field42").build()));
+
+        clazz.getChildren().get(43).setValue("renamed");
+        assertNull("We expect the renamed field is not found by its old value.", clazz.findChild(field));
+        assertTrue("We expect the field is unknown.", clazz.childrenNotContains(field));
+    }
+
+    @Test
+    public void internValues() {
+        for (int i = 0; i < 100; i++) {
+            clazz.addChild(Component.builder().type(JAVA_FIELD).value(new String("field" + i)).build());
+        }
+        Component field = Component.builder().type(JAVA_FIELD).value("field42").build();
+        field.setParent(clazz);
+        assertSame("We expect the field.", clazz.getChildren().get(43), clazz.findChild(field));
+
+        StringPool pool = new StringPool();
+        String value = pool.intern("field42");
+        root.internValues(pool);
+        assertSame("We expect the value of the pool.", value, clazz.getChildren().get(43).getValue());
+        assertSame("We expect the field is still found.", clazz.getChildren().get(43), clazz.findChild(field));
+        assertEquals("We expect the coordinate of the field.", "de.Foo.field42", clazz.getChildren().get(43).getUniqueCoordinate());
+    }
+
+    @Test
+    public void findAttributesByType() {
+        method.addAttribute(ComponentAttribute.modifier(ModifierType.PUBLIC));
+        method.addAttribute(ComponentAttribute.builder().type(JAVA_SIGNATURE).value("bar()").build());
+        method.addAttribute(ComponentAttribute.modifier(ModifierType.STATIC));
+
+        assertEquals("We expect 2 modifiers.", 2, method.findAttributesByType(JAVA_MODIFIER).size());
+        assertTrue("We expect no return type.", method.findAttributesByType(JAVA_RETURN_TYPE).isEmpty());
+        assertTrue("We expect the static modifier.", method.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "static"));
+        assertFalse("We expect no private modifier.", method.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "private"));
+        assertTrue("We expect the signature.", method.containsAttribute(ComponentAttribute.builder().type(JAVA_SIGNATURE).value("bar()").build()));
+
+        method.addAttribute(ComponentAttribute.modifier(ModifierType.FINAL));
+        assertTrue("We expect the modifier added as attribute.", method.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "final"));
+    }
+
+    @Test
+    public void attributesAreGroupedByType() {
+        ComponentAttribute signature = ComponentAttribute.builder().type(JAVA_SIGNATURE).value("bar()").build();
+        ComponentAttribute stringType = new ComponentAttribute(JAVA_TYPE, "String");
+        ComponentAttribute intType = new ComponentAttribute(JAVA_TYPE, "int");
+        method.addAttribute(stringType);
+        method.addAttribute(signature);
+        method.addAttribute(intType);
+
+        List<ComponentAttribute> types = method.findAttributesByType(JAVA_TYPE);
+        assertEquals("We expect the types in the order they were added.", List.of(stringType, intType), types);
+        assertSame("We expect the group itself without a copy.", types, method.findAttributesByType(JAVA_TYPE));
+        assertSame("We expect the shared empty list.", method.findAttributesByType(JAVA_RETURN_TYPE), method.findAttributesByType(JAVA_ASSIGNMENT));
+        assertEquals("We expect the attributes ordered by type.", List.of(stringType, intType, signature), method.getAttributes());
+        assertThrows("We expect a group can not be modified.", UnsupportedOperationException.class, () -> types.add(signature));
+
+        method.setAttributes(List.of(signature));
+        assertEquals("We expect only the signature.", List.of(signature), method.getAttributes());
+        assertTrue("We expect no type anymore.", method.findAttributesByType(JAVA_TYPE).isEmpty());
+    }
+
+    @Test
+    public void findFirstAttributeByType() {
+        assertNull("We expect no signature.", method.findFirstAttributeByType(JAVA_SIGNATURE));
+        assertFalse("We expect no modifier.", method.hasAttributeOfType(JAVA_MODIFIER));
+        assertFalse("We expect no start line.", method.hasAttributeOfType(START_LINE));
+
+        method.addAttribute(ComponentAttribute.builder().type(JAVA_SIGNATURE).value("bar()").build());
+        method.addAttribute(ComponentAttribute.builder().type(JAVA_SIGNATURE).value("baz()").build());
+        method.addAttribute(ComponentAttribute.modifier(ModifierType.STATIC));
+        method.setSourcePosition(12, 4, 20, 5);
+
+        assertEquals("We expect the first signature.", "bar()", method.findFirstAttributeByType(JAVA_SIGNATURE).getValue());
+        assertSame("We expect the shared modifier.", ComponentAttribute.modifier(ModifierType.STATIC), method.findFirstAttributeByType(JAVA_MODIFIER));
+        assertEquals("We expect the start line.", "12", method.findFirstAttributeByType(START_LINE).getValue());
+        assertTrue("We expect a signature.", method.hasAttributeOfType(JAVA_SIGNATURE));
+        assertTrue("We expect a modifier.", method.hasAttributeOfType(JAVA_MODIFIER));
+        assertTrue("We expect a stop column.", method.hasAttributeOfType(STOP_COLUMN));
+        assertFalse("We expect no return type.", method.hasAttributeOfType(JAVA_RETURN_TYPE));
+    }
+
+    @Test
+    public void getAllAttributes() {
+        ComponentAttribute signature = ComponentAttribute.builder().type(JAVA_SIGNATURE).value("bar()").build();
+        method.addAttribute(signature);
+        assertEquals("We expect only the signature.", List.of(signature), method.getAllAttributes());
+
+        method.addModifier(ModifierType.STATIC);
+        method.addModifier(ModifierType.PUBLIC);
+        method.setSourcePosition(12, 4, 20, 5);
+
+        List<ComponentAttribute> expected = List.of(signature, ComponentAttribute.modifier(ModifierType.PUBLIC),
+            ComponentAttribute.modifier(ModifierType.STATIC), new ComponentAttribute(START_LINE, "12"),
+            new ComponentAttribute(START_COLUMN, "4"), new ComponentAttribute(STOP_LINE, "20"), new ComponentAttribute(STOP_COLUMN, "5"));
+        assertEquals("We expect the stored, the modifier and the position attributes.", expected, method.getAllAttributes());
+        assertEquals("We expect only the signature is stored.", List.of(signature), method.getAttributes());
+    }
+
+    @Test
+    public void sharedAttribute() {
+        ComponentAttribute attribute = ComponentAttribute.modifier(ModifierType.PUBLIC);
+
+        assertSame("We expect the shared instance.", attribute, ComponentAttribute.modifier(ModifierType.PUBLIC));
+        assertEquals("We expect an attribute equal to a created one.", ComponentAttribute.builder().type(JAVA_MODIFIER).value("public").build(), attribute);
+        assertThrows("We expect a shared attribute can not be modified.", UnsupportedOperationException.class, () -> attribute.setValue("private"));
+    }
+
+    @Test
+    public void sourcePosition() {
+        assertFalse("We expect no position.", method.hasSourcePosition());
+        assertTrue("We expect no start line attribute.", method.findAttributesByType(START_LINE).isEmpty());
+
+        method.setSourcePosition(12, 4, 100_000, 70_000);
+        assertTrue("We expect a position.", method.hasSourcePosition());
+        assertEquals("We expect the start line.", 12, method.getStartLine());
+        assertEquals("We expect the start column.", 4, method.getStartColumn());
+        assertEquals("We expect the stop line.", 100_000, method.getStopLine());
+        assertEquals("We expect the stop column.", 70_000, method.getStopColumn());
+        assertTrue("We expect the start line attribute.", method.hasAttributeWithTypeAndValue(START_LINE, "12"));
+        assertEquals("We expect the stop column attribute.", "70000", method.findAttributesByType(STOP_COLUMN).get(0).getValue());
+        assertTrue("We expect the position is not part of the attributes.", method.getAttributes().isEmpty());
+        assertTrue("We expect the stop line is contained.", method.containsAttribute(new ComponentAttribute(STOP_LINE, "100000")));
+        assertFalse("We expect another start column is not contained.", method.containsAttribute(new ComponentAttribute(START_COLUMN, "5")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setSourcePositionInvalidLine() {
+        method.setSourcePosition(0, 0, 1, 0);
+    }
+
+    @Test
+    public void modifiers() {
+        method.addModifier(ModifierType.PUBLIC);
+        method.addModifier(ModifierType.STATIC);
+        method.addAttribute(ComponentAttribute.builder().type(JAVA_MODIFIER).value("unknown").build());
+
+        assertTrue("We expect the public modifier.", method.hasModifier(ModifierType.PUBLIC));
+        assertFalse("We expect no private modifier.", method.hasModifier(ModifierType.PRIVATE));
+        assertTrue("We expect the static modifier attribute.", method.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "static"));
+        assertTrue("We expect the unknown modifier attribute.", method.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "unknown"));
+        assertEquals("We expect 3 modifier attributes.", 3, method.findAttributesByType(JAVA_MODIFIER).size());
+
+        clazz.addModifiers(method.getModifiers());
+        assertTrue("We expect the copied static modifier.", clazz.hasModifier(ModifierType.STATIC));
+        assertSame("We expect the same modifier attributes for the same modifiers.",
+                   clazz.findAttributesByType(JAVA_MODIFIER), clazz.findAttributesByType(JAVA_MODIFIER));
+    }
+
+    @Test
+    public void enclosingPackageAndTopLevelType() {
+        Component inner = Component.builder().type(JAVA_CLASS).value("Inner").build();
+        Component innerMethod = Component.builder().type(JAVA_METHOD).value("baz").build();
+        inner.addChild(innerMethod);
+        clazz.addChild(inner);
+
+        assertSame("We expect the package.", pkg, innerMethod.getEnclosingPackage());
+        assertSame("We expect the top level class.", clazz, innerMethod.getTopLevelType());
+        assertSame("We expect the class itself.", clazz, clazz.getTopLevelType());
+        assertNull("We expect no package.", pkg.getEnclosingPackage());
+        assertNull("We expect no top level type.", pkg.getTopLevelType());
+
+        Component other = Component.builder().type(JAVA_PACKAGE).value("other").build();
+        root.addChild(other);
+        other.addChild(inner);
+        assertSame("We expect the new package.", other, innerMethod.getEnclosingPackage());
+        assertSame("We expect the moved class as top level class.", inner, innerMethod.getTopLevelType());
+    }
+
+    @Test
+    public void listsAreAllocatedLazilyAndTrimmed() {
+        Component first = Component.builder().type(JAVA_FIELD).value("first").build();
+        Component second = new Component();
+        assertTrue("We expect no children.", first.getChildren().isEmpty());
+        assertSame("We expect the shared empty children.", first.getChildren(), second.getChildren());
+        assertSame("We expect the shared empty attributes.", first.getAttributes(), second.getAttributes());
+        assertThrows("We expect empty children can not be modified.", UnsupportedOperationException.class, () -> first.getChildren().add(method));
+        assertThrows("We expect children can not be modified.", UnsupportedOperationException.class, () -> clazz.getChildren().add(method));
+
+        first.addAttribute(new ComponentAttribute(JAVA_TYPE, "int"));
+        assertEquals("We expect 1 attribute.", 1, first.getAttributes().size());
+        assertThrows("We expect attributes can not be modified.", UnsupportedOperationException.class, () -> first.getAttributes().clear());
+        assertTrue("We expect the shared attributes to stay empty.", second.getAttributes().isEmpty());
+
+        Component emptyList = Component.builder().type(JAVA_CLASS).value("Empty").build();
+        emptyList.setChildren(new ArrayList<>());
+        root.addChild(emptyList);
+        root.trimToSize();
+        assertSame("We expect the shared empty children after trimming.", second.getChildren(), emptyList.getChildren());
+        assertEquals("We expect the children of the root to be kept.", 2, root.getChildren().size());
+        assertSame("We expect the method to be kept.", method, clazz.getChildren().get(0));
+    }
+
+    @Test
+    public void addAttributesIfNotContained() {
+        Component field = Component.builder().type(JAVA_FIELD).value("field").build();
+        field.addAttribute(new ComponentAttribute(JAVA_TYPE, "int"));
+        field.addModifier(ModifierType.PRIVATE);
+
+        field.addAttributesIfNotContained(List.of(new ComponentAttribute(JAVA_TYPE, "int"),
+                                                  new ComponentAttribute(JAVA_TYPE, "long"),
+                                                  new ComponentAttribute(JAVA_TYPE, "long"),
+                                                  ComponentAttribute.modifier(ModifierType.PRIVATE)));
+        assertEquals("We expect the new type once.", 2, field.findAttributesByType(JAVA_TYPE).size());
+        assertEquals("We expect the modifier once.", 1, field.findAttributesByType(JAVA_MODIFIER).size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.common.util;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.ComponentAttribute;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_TYPE;
+import static de.marabs.analyse.common.component.type.ComponentType.JAVA_CLASS;
+import static de.marabs.analyse.common.component.type.ComponentType.JAVA_FIELD;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link StringPool} class.
+ *
+ * @author Martin Absmeier
+ */
+public class StringPoolTest {
+
+    private StringPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new StringPool();
+    }
+
+    @Test
+    public void internNull() {
+        assertNull("We expect NULL.", pool.intern(null));
+        assertEquals("We expect no request.", 0, pool.getRequestCount());
+    }
+
+    @Test
+    public void intern() {
+        String first = new String("public".toCharArray());
+        String second = new String("public".toCharArray());
+
+        assertSame("We expect the first instance.", first, pool.intern(first));
+        assertSame("We expect the pooled instance.", first, pool.intern(second));
+        assertSame("We expect the pooled instance.", first, pool.intern(first));
+        assertEquals("We expect 1 pooled string.", 1, pool.size());
+        assertEquals("We expect 3 requests.", 3, pool.getRequestCount());
+        assertEquals("We expect 1 deduplicated string.", 1, pool.getDeduplicatedCount());
+        assertEquals("We expect the bytes of one string.", 48, pool.getDeduplicatedBytes());
+
+        pool.clear();
+        assertEquals("We expect an empty pool.", 0, pool.size());
+        assertSame("We expect the new instance.", second, pool.intern(second));
+    }
+
+    @Test
+    public void internValuesOfAttributes() {
+        Component clazz = Component.builder().type(JAVA_CLASS).value(new String("String".toCharArray())).build();
+        Component field = Component.builder().type(JAVA_FIELD).value("name").build();
+        field.addAttribute(new ComponentAttribute(JAVA_TYPE, new String("String".toCharArray())));
+        clazz.addChild(field);
+
+        clazz.internValues(pool);
+        assertSame("We expect the attribute shares the value of the class.", clazz.getValue(), field.getAttributes().get(0).getValue());
+        assertEquals("We expect 2 pooled strings.", 2, pool.size());
+        assertEquals("We expect 1 deduplicated string.", 1, pool.getDeduplicatedCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser;
+
+import de.marabs.analyse.perser.common.library.Library;
+import de.marabs.analyse.perser.java.JavaApplication;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+
+/**
+ * {@code AnalysisSession} is one analysis of the source code of a revision.<br>
+ * The session owns the application the parsers and listeners merge their results into, so several analyses can run
+ * in parallel in one JVM and the results of an analysis are garbage collected with its session.
+ *
+ * @author Martin Absmeier
+ */
+@Getter
+public class AnalysisSession {
+
+    private final String revisionId;
+    private final Map<SourceType, Library[]> libraries;
+    private final JavaApplication javaApplication;
+
+    /**
+     * Creates a new instance of {@code AnalysisSession} with an empty application.
+     *
+     * @param revisionId the unique id of the source code (e.g. git commit id), if NULL a random id is used
+     * @param libraries  the libraries for each source type, if NULL there are no libraries
+     */
+    @Builder
+    public AnalysisSession(String revisionId, Map<SourceType, Library[]> libraries) {
+        this.revisionId = isNull(revisionId) ? UUID.randomUUID().toString() : revisionId;
+        this.libraries = isNull(libraries) ? new HashMap<>() : libraries;
+        this.javaApplication = new JavaApplication();
+    }
+
+    /**
+     * Returns the libraries of the specified {@code type}.
+     *
+     * @param type the type of the source code
+     * @return the libraries or an empty array if there are none
+     */
+    public Library[] getLibraries(SourceType type) {
+        Library[] typeLibraries = libraries.get(type);
+        return isNull(typeLibraries) ? new Library[0] : typeLibraries;
+    }
+}
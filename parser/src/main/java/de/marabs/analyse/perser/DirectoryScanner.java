@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser;
+
+import de.marabs.analyse.common.exception.ParseException;
+import lombok.Builder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code DirectoryScanner} walks a directory tree once and sorts the files by their extension into a list per
+ * {@link SourceType}.<br>
+ * Each directory is listed by its own fork join task, so the subtrees are scanned in parallel. Directories whose name
+ * matches one of the ignore patterns (glob syntax, e.g. {@code target} or {@code .*}) are never descended.<br>
+ * The scan returns when the whole tree is scanned. The parsers need all files before the first one is parsed (they are
+ * scheduled by their estimated cost and merged in the order of their names), so the files are not streamed.
+ *
+ * @author Martin Absmeier
+ */
+public class DirectoryScanner {
+
+    private static final Logger LOGGER = LogManager.getLogger(DirectoryScanner.class);
+
+    private final List<PathMatcher> ignoreMatchers;
+    private final int parallelism;
+
+    /**
+     * Creates a new instance of {@code DirectoryScanner}.
+     *
+     * @param ignorePatterns the glob patterns of the directory names to be skipped, a trailing slash is ignored
+     * @param parallelism    the number of threads listing directories
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    @Builder
+    public DirectoryScanner(List<String> ignorePatterns, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be >= 1.");
+        }
+        this.parallelism = parallelism;
+        this.ignoreMatchers = isNull(ignorePatterns) ? List.of() : ignorePatterns.stream()
+            .map(pattern -> pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern)
+            .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Scans the specified {@code directory} for files of the specified {@code types}.
+     *
+     * @param directory the directory to be scanned
+     * @param types     the source code types to be collected
+     * @return the files of each type sorted by their path, so the result does not depend on the parallelism
+     * @throws ParseException if the scan fails
+     */
+    public Map<SourceType, List<File>> scan(File directory, Set<SourceType> types) {
+        requireNonNull(directory, "NULL is not permitted as a value for the 'directory' parameter.");
+        requireNonNull(types, "NULL is not permitted as a value for the 'types' parameter.");
+
+        Map<SourceType, Queue<File>> foundFiles = new EnumMap<>(SourceType.class);
+        List<Extension> extensions = new ArrayList<>();
+        types.forEach(type -> {
+            Queue<File> files = new ConcurrentLinkedQueue<>();
+            foundFiles.put(type, files);
+            type.getExtensions().forEach(extension -> extensions.add(new Extension("." + extension, files)));
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ScanTask(directory.toPath(), extensions));
+        } catch (RuntimeException ex) {
+            throw new ParseException("Scanning the directory failed due to: " + ex.getMessage(), ex);
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<SourceType, List<File>> files = new EnumMap<>(SourceType.class);
+        foundFiles.forEach((type, found) -> {
+            List<File> sortedFiles = new ArrayList<>(found);
+            sortedFiles.sort(Comparator.naturalOrder());
+            files.put(type, sortedFiles);
+        });
+        return files;
+    }
+
+    // #################################################################################################################
+    // Private methods
+
+    private boolean isIgnored(Path directory) {
+        Path name = directory.getFileName();
+        return ignoreMatchers.stream().anyMatch(matcher -> matcher.matches(name));
+    }
+
+    private class ScanTask extends RecursiveAction {
+        private final Path directory;
+        private final List<Extension> extensions;
+
+        private ScanTask(Path directory, List<Extension> extensions) {
+            this.directory = directory;
+            this.extensions = extensions;
+        }
+
+        @Override
+        protected void compute() {
+            List<ScanTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    visit(entry, subTasks);
+                }
+            } catch (IOException ex) {
+                LOGGER.warn("Could not read directory '{}' due to: '{}'", directory, ex.getMessage());
+            }
+            // The directory stream is closed before descending, so only one stream per task is open
+            invokeAll(subTasks);
+        }
+
+        private void visit(Path entry, List<ScanTask> subTasks) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    if (!isIgnored(entry)) {
+                        subTasks.add(new ScanTask(entry, extensions));
+                    }
+                } else if (attributes.isRegularFile()) {
+                    classify(entry);
+                }
+            } catch (IOException ex) {
+                LOGGER.warn("Could not read file '{}' due to: '{}'", entry, ex.getMessage());
+            }
+        }
+
+        private void classify(Path file) {
+            String name = file.getFileName().toString();
+            for (Extension extension : extensions) {
+                // Case insensitive suffix match without creating a lower case copy of the name
+                int offset = name.length() - extension.suffix.length();
+                if (offset >= 0 && name.regionMatches(true, offset, extension.suffix, 0, extension.suffix.length())) {
+                    extension.files.add(file.toFile());
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class Extension {
+        private final String suffix;
+        private final Queue<File> files;
+
+        private Extension(String suffix, Queue<File> files) {
+            this.suffix = suffix;
+            this.files = files;
+        }
+    }
+}
\ No newline at end of file
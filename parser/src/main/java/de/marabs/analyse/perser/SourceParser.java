@@ -16,20 +16,19 @@
 package de.marabs.analyse.perser;
 
 import de.marabs.analyse.common.exception.ParseException;
-import de.marabs.analyse.common.util.FileUtils;
 import de.marabs.analyse.perser.common.ListenerBase;
+import de.marabs.analyse.perser.common.ParserOptions;
 import de.marabs.analyse.perser.common.SourceParserBase;
-import de.marabs.analyse.perser.common.library.Library;
 import de.marabs.analyse.perser.java.JavaSourceParser;
 import lombok.Builder;
+import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 
 import static de.marabs.analyse.common.constant.CommonConstants.SEPARATOR;
 import static de.marabs.analyse.perser.SourceType.*;
@@ -45,17 +44,23 @@ public class SourceParser {
     private static final Logger LOGGER = LogManager.getLogger(SourceParser.class);
 
     private final List<ListenerBase> listeners;
-    private final Map<SourceType, Library[]> libraries;
+    @Getter
+    private final AnalysisSession session;
+    private final ParserOptions options;
 
     /**
-     * Creates a new instance of {@code SourcParser}.
+     * Creates a new instance of {@code SourcParser}.<br>
+     * The listeners have to belong to the specified {@code session}, the parsed files are merged into its application.
      *
-     * @param libraries the libraries for each source type
+     * @param listeners the listeners to be executed, if empty the default listeners of the parser are executed
+     * @param session   the analysis session with the libraries for each source type, if NULL a new session is used
+     * @param options   the options of the parser, if NULL the {@link ParserOptions#defaults()} are used
      */
     @Builder
-    public SourceParser(List<ListenerBase> listeners, Map<SourceType, Library[]> libraries) {
+    public SourceParser(List<ListenerBase> listeners, AnalysisSession session, ParserOptions options) {
         this.listeners = isNull(listeners) ? new ArrayList<>() : listeners;
-        this.libraries = isNull(libraries) ? new HashMap<>() : libraries;
+        this.session = isNull(session) ? AnalysisSession.builder().build() : session;
+        this.options = isNull(options) ? ParserOptions.defaults() : options;
     }
 
     /**
@@ -65,36 +70,33 @@ public class SourceParser {
      * @param directory the directory to be parsed
      */
     public void parseDirectory(SourceType type, File directory) {
+        requireNonNull(type, "NULL is not permitted as a value for the 'type' parameter.");
         requireNonNull(directory, "NULL is not permitted as a value for the 'directory' parameter.");
 
-        List<String> extensions = findExtensionsByType(type);
-        extensions.forEach(extension -> {
-            List<File> filesToParse = FileUtils.findFiles(directory, extension);
-            if (filesToParse.size() > 0) {
-                LOGGER.info("Reading files with extension [{}] from directory -> {}", extension ,directory.getAbsolutePath());
-                LOGGER.info(SEPARATOR);
-
-                SourceParserBase parser = findParserByType(type);
-                parser.parseFiles(filesToParse);
-            } else {
-                LOGGER.info("No files found for extension [{}}] in directory -> {}", extension, directory.getAbsolutePath());
-                LOGGER.info(SEPARATOR);
-            }
-        });
+        DirectoryScanner scanner = DirectoryScanner.builder()
+            .ignorePatterns(options.getIgnorePatterns())
+            .parallelism(options.getWorkerCount())
+            .build();
+        List<File> filesToParse = scanner.scan(directory, EnumSet.of(type)).get(type);
+        if (filesToParse.isEmpty()) {
+            LOGGER.info("No files found for extensions {} in directory -> {}", type.getExtensions(), directory.getAbsolutePath());
+            LOGGER.info(SEPARATOR);
+            return;
+        }
+
+        LOGGER.info("Reading files with extensions {} from directory -> {}", type.getExtensions(), directory.getAbsolutePath());
+        LOGGER.info(SEPARATOR);
+
+        SourceParserBase parser = findParserByType(type);
+        parser.parseFiles(filesToParse);
     }
 
     // #################################################################################################################
     private SourceParserBase findParserByType(SourceType type) {
-        Library[] library = libraries.get(JAVA);
-
         SourceParserBase parser = null;
         switch (type) {
             case JAVA:
-                if (nonNull(library)) {
-                    parser = JavaSourceParser.builder().libraries(library).build();
-                } else {
-                    parser = JavaSourceParser.builder().build();
-                }
+                parser = JavaSourceParser.builder().session(session).options(options).build();
                 break;
 
             case SCALA:
@@ -118,15 +120,4 @@ public class SourceParser {
 
         return parser;
     }
-
-    private List<String> findExtensionsByType(SourceType type) {
-        switch (type) {
-            case JAVA:
-                return List.of("java");
-            case SCALA:
-                return List.of("scala");
-            default:
-                throw new ParseException("Can not find extension for type: " + type.name());
-        }
-    }
 }
\ No newline at end of file
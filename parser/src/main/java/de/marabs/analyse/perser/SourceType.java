@@ -15,12 +15,29 @@
  */
 package de.marabs.analyse.perser;
 
+import java.util.List;
+
 /**
  * Enumeration of the source code types.
  *
  * @author Martin Absmeier
  */
 public enum SourceType {
-    JAVA,
-    SCALA
+    JAVA("java"),
+    SCALA("scala");
+
+    private final List<String> extensions;
+
+    SourceType(String... extensions) {
+        this.extensions = List.of(extensions);
+    }
+
+    /**
+     * Returns the file extensions (without leading dot) of the source code type.
+     *
+     * @return the file extensions
+     */
+    public List<String> getExtensions() {
+        return extensions;
+    }
 }
\ No newline at end of file
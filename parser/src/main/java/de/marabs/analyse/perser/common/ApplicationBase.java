@@ -16,18 +16,25 @@
 package de.marabs.analyse.perser.common;
 
 import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.ComponentAttributePool;
 import de.marabs.analyse.common.component.filter.ComponentFilter;
+import de.marabs.analyse.common.util.StringPool;
+import de.marabs.analyse.perser.common.library.LibraryIndex;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static de.marabs.analyse.common.component.type.ComponentType.ROOT;
 import static de.marabs.analyse.common.constant.ParserConstants.NULL_NOT_PERMITTED_FOR_COMPONENT_PARAM;
 import static de.marabs.analyse.common.constant.ParserConstants.NULL_NOT_PERMITTED_FOR_UNIQUE_COORDINATE_PARAM;
-import static java.util.Objects.isNull;
-import static java.util.Objects.requireNonNull;
+import static de.marabs.analyse.common.constant.ParserConstants.UNIQUE_DELIMITER;
+import static java.util.Objects.*;
 
 /**
  * {@code ApplicationBase} is the programming language independent base class of an application.
@@ -41,6 +48,31 @@ public abstract class ApplicationBase {
     @Getter
     private final List<Component> libraries = new ArrayList<>();
 
+    /**
+     * Unique coordinate of every component of the application to the component, maintained while merging.<br>
+     * If several components have the same unique coordinate (e.g. overloaded methods) the first merged one is indexed.
+     */
+    private final Map<String, Component> coordinateIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The pool of the values of the components of this application and its libraries, it is collected together with
+     * the application (e.g. when its analysis session is not referenced anymore).
+     */
+    @Getter
+    private final StringPool stringPool = new StringPool();
+
+    /**
+     * The pool of the attributes created by the listeners of this application, their values are interned in the
+     * {@link #getStringPool()}.
+     */
+    @Getter
+    private final ComponentAttributePool attributePool = new ComponentAttributePool(stringPool);
+
+    /**
+     * The immutable indexes of the libraries in the order they were added, replaced as a whole by {@link #addLibrary}.
+     */
+    private volatile LibraryIndex[] libraryIndexes = new LibraryIndex[0];
+
     // #################################################################################################################
 
     /**
@@ -86,7 +118,8 @@ public abstract class ApplicationBase {
 
     /**
      * Merges the specified {@code component} with this application.<br>
-     * To put it more precisely, the component is sorted into the right place in the tree.
+     * To put it more precisely, the component is sorted into the right place in the tree. The merge is not synchronized,
+     * the parsers merge the results of their workers on the calling thread in the order of the source names.
      *
      * @param component the component
      */
@@ -96,14 +129,31 @@ public abstract class ApplicationBase {
     }
 
     /**
-     * Add the specified {@code library} to the libraries.
+     * Removes all components merged into this application (e.g. to parse the sources again), the libraries are kept.
+     */
+    public void reset() {
+        components.setChildren(new ArrayList<>());
+        components.setAttributes(new ArrayList<>());
+        coordinateIndex.clear();
+    }
+
+    /**
+     * Add the specified {@code library} to the libraries.<br>
+     * The values of the components of the library and of their attributes are interned in the {@link #getStringPool()}
+     * and the lists of the components are trimmed to their size.
      *
      * @param library the library
      */
     public void addLibrary(Component library) {
         requireNonNull(library, "NULL is not permitted as a value for the 'library' parameter.");
         if (!libraries.contains(library)) {
+            library.internValues(stringPool);
+            library.trimToSize();
             libraries.add(library);
+
+            LibraryIndex[] indexes = Arrays.copyOf(libraryIndexes, libraryIndexes.length + 1);
+            indexes[indexes.length - 1] = new LibraryIndex(library);
+            libraryIndexes = indexes;
         }
     }
 
@@ -135,12 +185,7 @@ public abstract class ApplicationBase {
      */
     private Component findApplicationComponentByUniqueCoordinate(String uniqueCoordinate) {
         requireNonNull(uniqueCoordinate, NULL_NOT_PERMITTED_FOR_UNIQUE_COORDINATE_PARAM);
-
-        List<Component> allChildren = getAllChildren(components);
-        return allChildren.stream().parallel()
-            .filter(cmp -> uniqueCoordinate.equals(cmp.getUniqueCoordinate()))
-            .findFirst()
-            .orElse(null);
+        return coordinateIndex.get(uniqueCoordinate);
     }
 
     /**
@@ -153,14 +198,13 @@ public abstract class ApplicationBase {
     public Component findLibraryComponentByUniqueCoordinate(String uniqueCoordinate) {
         requireNonNull(uniqueCoordinate, NULL_NOT_PERMITTED_FOR_UNIQUE_COORDINATE_PARAM);
 
-        List<Component> allChildren = libraries.stream()
-            .map(cmp -> getAllChildren(cmp))
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
-        return allChildren.stream().parallel()
-            .filter(cmp -> uniqueCoordinate.equals(cmp.getUniqueCoordinate()))
-            .findFirst()
-            .orElse(null);
+        for (LibraryIndex index : libraryIndexes) {
+            Component component = index.find(uniqueCoordinate);
+            if (nonNull(component)) {
+                return component;
+            }
+        }
+        return null;
     }
 
     /**
@@ -188,7 +232,12 @@ public abstract class ApplicationBase {
     // #################################################################################################################
 
     /**
-     * Add the children and attributes of the specified {@code component} into the pointer.
+     * Add the children and attributes of the specified {@code component} into the pointer.<br>
+     * The children are matched by type and value on every level, children with the same type and value (e.g. overloaded
+     * methods) are matched in their order, the n-th one of the component is merged with the n-th one of the pointer and
+     * the surplus ones are added. The children of the pointer are hashed once per level, so merging a level takes linear
+     * time instead of searching the children of the pointer for every child of the component. A single child is
+     * searched with the child index of the pointer instead, the first match is the n-th one for n = 1.
      *
      * @param component the component
      * @param pointer   the pointer to add the children and attributes
@@ -197,29 +246,73 @@ public abstract class ApplicationBase {
         updateComponent(component, pointer);
 
         List<Component> children = component.getChildren();
-        children.forEach(child -> {
-            Component newPointer = pointer.findChild(child);
-            if (isNull(newPointer)) {
-                pointer.addChild(child);
-            } else {
-                // There can be more than one method or constructor with the same value let's add them
-                mergeComponent(child, newPointer);
-            }
-        });
-    }
+        if (children.isEmpty()) {
+            return;
+        }
+        if (children.size() == 1) {
+            Component child = children.get(0);
+            mergeChild(child, pointer.findChildByTypeAndValue(child.getType(), child.getValue()), pointer);
+            return;
+        }
 
-    private List<Component> getAllChildren(Component component) {
-        List<Component> allChildren = new ArrayList<>();
+        Map<String, List<Component>> candidatesByValue = new HashMap<>();
+        for (Component candidate : pointer.getChildren()) {
+            candidatesByValue.computeIfAbsent(candidate.getValue(), key -> new ArrayList<>(1)).add(candidate);
+        }
+        for (Component child : children) {
+            mergeChild(child, removeCandidate(candidatesByValue.get(child.getValue()), child), pointer);
+        }
+    }
 
-        if (component.hasChildren()) {
-            List<Component> children = component.getChildren();
-            allChildren.addAll(children);
+    private void mergeChild(Component child, Component newPointer, Component pointer) {
+        if (isNull(newPointer)) {
+            pointer.addChild(child);
+            indexComponent(child, child.getUniqueCoordinate());
+        } else {
+            mergeComponent(child, newPointer);
+        }
+    }
 
-            for (Component child : children) {
-                allChildren.addAll(getAllChildren(child));
+    /**
+     * Removes the first of the specified {@code candidates} with the type of the specified {@code child}, the
+     * candidates have the parent and the value of the child.
+     *
+     * @param candidates the candidates or NULL if there are none
+     * @param child      the child
+     * @return the removed candidate or NULL if no one has the type of the child
+     */
+    private Component removeCandidate(List<Component> candidates, Component child) {
+        if (isNull(candidates)) {
+            return null;
+        }
+        Iterator<Component> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            Component candidate = iterator.next();
+            if (candidate.isType(child.getType())) {
+                iterator.remove();
+                return candidate;
             }
         }
+        return null;
+    }
 
-        return allChildren;
+    /**
+     * Adds the specified {@code component} and all its children to the coordinate index, the coordinates of the
+     * children are derived from the specified {@code uniqueCoordinate} instead of walking up the tree for each child.
+     *
+     * @param component        the component to be indexed
+     * @param uniqueCoordinate the unique coordinate of the component
+     */
+    private void indexComponent(Component component, String uniqueCoordinate) {
+        if (isNull(uniqueCoordinate)) {
+            return;
+        }
+
+        coordinateIndex.putIfAbsent(uniqueCoordinate, component);
+        for (Component child : component.getChildren()) {
+            if (nonNull(child.getValue())) {
+                indexComponent(child, uniqueCoordinate.concat(UNIQUE_DELIMITER).concat(child.getValue()));
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.common;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CodePointBuffer;
+import org.antlr.v4.runtime.CodePointCharStream;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code CharStreamLoader} loads a source code file into a {@link CharStream} for the lexer.<br>
+ * The bytes of the file are read exactly once into an array. If every byte is a code point of its own (ASCII content
+ * or a ISO-8859-1 charset) the array backs the stream directly, otherwise the bytes are decoded with the specified
+ * charset. Malformed input is replaced like {@link org.antlr.v4.runtime.CharStreams#fromFileName(String)} does.
+ *
+ * @author Martin Absmeier
+ */
+public final class CharStreamLoader {
+
+    private CharStreamLoader() {
+        // Utility class
+    }
+
+    /**
+     * Loads the specified {@code file} with the specified {@code charset}.
+     *
+     * @param file    the file to be loaded
+     * @param charset the charset of the file
+     * @return the stream with the content of the file, the source name is the absolute path of the file
+     * @throws IOException if the file can not be read
+     */
+    public static CharStream load(File file, Charset charset) throws IOException {
+        requireNonNull(file, "NULL is not permitted as a value for the 'file' parameter.");
+        requireNonNull(charset, "NULL is not permitted as a value for the 'charset' parameter.");
+
+        String sourceName = file.getAbsolutePath();
+        byte[] bytes = readBytes(file);
+        if (ISO_8859_1.equals(charset) || (isAsciiCompatible(charset) && isAscii(bytes))) {
+            // Each byte is a code point, the array is used by the stream without a copy
+            return CodePointCharStream.fromBuffer(CodePointBuffer.withBytes(ByteBuffer.wrap(bytes)), sourceName);
+        }
+        return decode(bytes, charset, sourceName);
+    }
+
+    // #################################################################################################################
+    // Private methods
+
+    private static byte[] readBytes(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File [" + file.getName() + "] is too large to be parsed.");
+            }
+
+            // The 8-bit stream of ANTLR requires a heap array, so the file is read into it instead of being memory mapped
+            byte[] bytes = new byte[(int) size];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("File [" + file.getName() + "] was truncated while reading.");
+                }
+            }
+            return bytes;
+        }
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        // Charsets that encode the ASCII range as single bytes with the same value
+        return UTF_8.equals(charset) || US_ASCII.equals(charset);
+    }
+
+    private static boolean isAscii(byte[] bytes) {
+        for (byte value : bytes) {
+            if (value < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CharStream decode(byte[] bytes, Charset charset, String sourceName) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = decoder.decode(ByteBuffer.wrap(bytes));
+
+        CodePointBuffer.Builder builder = CodePointBuffer.builder(chars.remaining());
+        builder.append(chars);
+        return CodePointCharStream.fromBuffer(builder.build(), sourceName);
+    }
+}
\ No newline at end of file
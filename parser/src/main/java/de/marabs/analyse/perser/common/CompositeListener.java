@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.common;
+
+import de.marabs.analyse.common.component.Component;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code CompositeListener} dispatches every event of a single parse tree walk to several listeners, so the parse
+ * tree is traversed only once for all of them.<br>
+ * The listeners receive the events in the order in which they are specified, each listener keeps its own result.
+ *
+ * @author Martin Absmeier
+ */
+public class CompositeListener implements ListenerBase {
+
+    private final List<ListenerBase> listeners;
+
+    /**
+     * Creates a new instance of {@code CompositeListener} with the specified {@code listeners}.
+     *
+     * @param listeners the listeners the events are dispatched to
+     */
+    public CompositeListener(List<ListenerBase> listeners) {
+        requireNonNull(listeners, "NULL is not permitted as a value for the 'listeners' parameter.");
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Returns the listeners the events are dispatched to.
+     *
+     * @return the listeners
+     */
+    public List<ListenerBase> getListeners() {
+        return listeners;
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+        // Same order as ParseTreeWalker#enterRule, the rule specific method is only called for the listener itself
+        for (ListenerBase listener : listeners) {
+            listener.enterEveryRule(ctx);
+            ctx.enterRule(listener);
+        }
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        // Same order as ParseTreeWalker#exitRule
+        for (ListenerBase listener : listeners) {
+            ctx.exitRule(listener);
+            listener.exitEveryRule(ctx);
+        }
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+        listeners.forEach(listener -> listener.visitTerminal(node));
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+        listeners.forEach(listener -> listener.visitErrorNode(node));
+    }
+
+    /**
+     * A composite listener has no result of its own, so the result of the first listener is returned. The results of
+     * all listeners are returned by {@link #getResults()}.
+     *
+     * @return the parsing result of the first listener or NULL if there are no listeners
+     */
+    @Override
+    public Component getResult() {
+        return listeners.isEmpty() ? null : listeners.get(0).getResult();
+    }
+
+    /**
+     * Returns the parsing results of all listeners in the order in which the listeners are specified.
+     *
+     * @return the parsing results
+     */
+    @Override
+    public List<Component> getResults() {
+        List<Component> results = new ArrayList<>(listeners.size());
+        listeners.forEach(listener -> results.addAll(listener.getResults()));
+        return results;
+    }
+
+    @Override
+    public void setSourceName(String sourceName) {
+        listeners.forEach(listener -> listener.setSourceName(sourceName));
+    }
+
+    @Override
+    public void reset() {
+        listeners.forEach(ListenerBase::reset);
+    }
+
+    @Override
+    public boolean requiresCompletedDeclarationPass() {
+        return listeners.stream().anyMatch(ListenerBase::requiresCompletedDeclarationPass);
+    }
+
+    @Override
+    public boolean supportsParseTimeListening() {
+        return listeners.stream().allMatch(ListenerBase::supportsParseTimeListening);
+    }
+
+    /**
+     * Creates a composite listener of new listeners for another parse worker.
+     *
+     * @return the new composite listener or NULL if one of the listeners can not be created
+     */
+    @Override
+    public ListenerBase createWorkerListener() {
+        List<ListenerBase> workerListeners = new ArrayList<>(listeners.size());
+        for (ListenerBase listener : listeners) {
+            ListenerBase workerListener = listener.createWorkerListener();
+            if (isNull(workerListener)) {
+                return null;
+            }
+            workerListeners.add(workerListener);
+        }
+        return new CompositeListener(workerListeners);
+    }
+
+    @Override
+    public String toString() {
+        return listeners.stream()
+            .map(listener -> listener.getClass().getSimpleName())
+            .collect(Collectors.joining(", ", "CompositeListener[", "]"));
+    }
+}
\ No newline at end of file
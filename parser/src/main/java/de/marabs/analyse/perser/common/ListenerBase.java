@@ -21,6 +21,7 @@ import org.antlr.v4.runtime.tree.ParseTreeListener;
 import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -38,6 +39,16 @@ public interface ListenerBase extends ParseTreeListener {
      */
     Component getResult();
 
+    /**
+     * Return all parsing results of the listener, which are merged into the application one after the other.<br>
+     * A listener dispatching to other listeners returns the results of all of them.
+     *
+     * @return the parsing results
+     */
+    default List<Component> getResults() {
+        return List.of(getResult());
+    }
+
     /**
      * Set the name of the source code file.
      *
@@ -51,6 +62,39 @@ public interface ListenerBase extends ParseTreeListener {
      */
     void reset();
 
+    /**
+     * Checks whether this listener needs the declarations of all files in the application before it can run.<br>
+     * Such listeners are executed in a later pass, after all other listeners have processed every file.
+     *
+     * @return true if the declaration pass over all files has to be completed first, false otherwise
+     */
+    default boolean requiresCompletedDeclarationPass() {
+        return false;
+    }
+
+    /**
+     * Checks whether this listener can be executed while parsing, without a parse tree.<br>
+     * In this case the events are received from {@link org.antlr.v4.runtime.Parser#addParseListener} and the rule
+     * contexts contain the tokens of the rule but no child rule contexts. An enter event is received before the
+     * children of the rule are parsed, an exit event afterwards.
+     *
+     * @return true if the listener only needs the events and the tokens of the rules, false otherwise
+     */
+    default boolean supportsParseTimeListening() {
+        return false;
+    }
+
+    /**
+     * Creates a new listener of the same kind that is executed while parsing.<br>
+     * A listener executed while parsing keeps the state of the file being parsed, so every parse worker needs its own
+     * listener. The results of the created listener are merged into the same application as the ones of this listener.
+     *
+     * @return the new listener or NULL if the listener can not be created, then the files are parsed on the calling
+     * thread with this listener
+     */
+    default ListenerBase createWorkerListener() {
+        return null;
+    }
 
     /**
      * Calculate a MD5 checksum for the specified {@code sourceCode} parameter.
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code ParseCostModel} estimates how long a file takes to be parsed, so that the most expensive files can be
+ * scheduled first.<br>
+ * A file that has been parsed before with the same size is estimated with its measured parse time, any other file
+ * with its size multiplied by the average parse time per byte of all measured files, or by
+ * {@value #DEFAULT_NANOS_PER_BYTE} nanoseconds per byte as long as no file has been measured. If a history file is
+ * specified, the measured parse times are loaded from it and can be saved for the next run.
+ *
+ * @author Martin Absmeier
+ */
+public class ParseCostModel {
+
+    private static final Logger LOGGER = LogManager.getLogger(ParseCostModel.class);
+
+    private static final String FIELD_DELIMITER = "\t";
+
+    /**
+     * Parse time per byte assumed until the first file has been measured.
+     */
+    public static final long DEFAULT_NANOS_PER_BYTE = 100;
+
+    private final Path historyFile;
+    private final Map<String, Measurement> history;
+    private final AtomicLong measuredNanos;
+    private final AtomicLong measuredBytes;
+
+    /**
+     * Creates a new instance of {@code ParseCostModel} and loads the parse times from the specified {@code historyFile}.
+     *
+     * @param historyFile the file the parse times are stored in or NULL to keep them in memory only
+     */
+    public ParseCostModel(Path historyFile) {
+        this.historyFile = historyFile;
+        this.history = new ConcurrentHashMap<>();
+        this.measuredNanos = new AtomicLong();
+        this.measuredBytes = new AtomicLong();
+        load();
+    }
+
+    /**
+     * Estimates the parse time of the specified {@code file} with the current {@link #getNanosPerByte()}.
+     *
+     * @param file the file to be parsed
+     * @return the estimated parse time in nanoseconds
+     */
+    public long estimateNanos(File file) {
+        return estimateNanos(file, getNanosPerByte());
+    }
+
+    /**
+     * Estimates the parse time of the specified {@code file} with the specified {@code nanosPerByte} for a file that has
+     * not been measured yet.<br>
+     * The parse times are recorded while the files are parsed, so the files of one run should be estimated with the
+     * same snapshot of {@link #getNanosPerByte()} to be comparable.
+     *
+     * @param file         the file to be parsed
+     * @param nanosPerByte the parse time per byte of a file without measurement
+     * @return the estimated parse time in nanoseconds
+     */
+    public long estimateNanos(File file, double nanosPerByte) {
+        requireNonNull(file, "NULL is not permitted as a value for the 'file' parameter.");
+
+        long size = file.length();
+        Measurement measurement = history.get(file.getAbsolutePath());
+        if (nonNull(measurement) && measurement.size == size) {
+            return measurement.nanos;
+        }
+        return (long) (size * nanosPerByte);
+    }
+
+    /**
+     * Returns the average parse time per byte of all measured files or {@value #DEFAULT_NANOS_PER_BYTE} if no file has
+     * been measured yet.
+     *
+     * @return the parse time per byte in nanoseconds
+     */
+    public double getNanosPerByte() {
+        // Both counters are updated one after the other, the ratio is only an approximation while files are recorded
+        long bytes = measuredBytes.get();
+        long nanos = measuredNanos.get();
+        return bytes <= 0 || nanos <= 0 ? DEFAULT_NANOS_PER_BYTE : (double) nanos / bytes;
+    }
+
+    /**
+     * Records the measured parse time of the specified {@code file}.
+     *
+     * @param file  the parsed file
+     * @param nanos the parse time in nanoseconds
+     */
+    public void record(File file, long nanos) {
+        requireNonNull(file, "NULL is not permitted as a value for the 'file' parameter.");
+        put(file.getAbsolutePath(), new Measurement(file.length(), nanos));
+    }
+
+    /**
+     * Saves the parse times to the history file, nothing happens if there is no history file.
+     */
+    public void save() {
+        if (isNull(historyFile)) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(historyFile, UTF_8)) {
+            for (Map.Entry<String, Measurement> entry : history.entrySet()) {
+                writer.write(entry.getValue().size + FIELD_DELIMITER + entry.getValue().nanos + FIELD_DELIMITER + entry.getKey());
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Could not save parse history to '{}' due to: '{}'", historyFile, ex.getMessage());
+        }
+    }
+
+    // #################################################################################################################
+    // Private methods
+
+    private void load() {
+        if (isNull(historyFile) || !Files.isRegularFile(historyFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(historyFile, UTF_8)) {
+            String line;
+            while (nonNull(line = reader.readLine())) {
+                String[] fields = line.split(FIELD_DELIMITER, 3);
+                if (fields.length == 3) {
+                    put(fields[2], new Measurement(Long.parseLong(fields[0]), Long.parseLong(fields[1])));
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            LOGGER.warn("Could not load parse history from '{}' due to: '{}'", historyFile, ex.getMessage());
+        }
+    }
+
+    private void put(String path, Measurement measurement) {
+        Measurement previous = history.put(path, measurement);
+        if (nonNull(previous)) {
+            measuredBytes.addAndGet(-previous.size);
+            measuredNanos.addAndGet(-previous.nanos);
+        }
+        measuredBytes.addAndGet(measurement.size);
+        measuredNanos.addAndGet(measurement.nanos);
+    }
+
+    private static class Measurement {
+        private final long size;
+        private final long nanos;
+
+        private Measurement(long size, long nanos) {
+            this.size = size;
+            this.nanos = nanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.common;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@code ParserOptions} is the language independent configuration of a source code parser.
+ *
+ * @author Martin Absmeier
+ */
+@Getter
+@Builder
+public class ParserOptions {
+
+    /**
+     * Number of worker threads used to parse the source code files, a value of 1 parses on the calling thread.
+     */
+    @Builder.Default
+    private final int workerCount = 1;
+
+    /**
+     * The file the parse times are stored in, they are used to schedule the most expensive files first in the next run.
+     * If NULL the parse times are only kept for the lifetime of the parser and the file size is used as estimation.
+     */
+    private final Path parseHistoryFile;
+
+    /**
+     * If true each file is parsed, walked by all listeners of a pass and merged into the application before its parse
+     * tree is released, otherwise all parse trees are kept until every listener has been executed.<br>
+     * <b>Attention:</b><br>
+     * In streaming mode the files are parsed once per pass, so listeners that
+     * {@link ListenerBase#requiresCompletedDeclarationPass()} cause a second parse of all files.
+     */
+    private final boolean streaming;
+
+    /**
+     * If true the listeners of a pass that {@link ListenerBase#supportsParseTimeListening()} are executed while parsing
+     * and no parse tree is built (e.g. the declaration pass of the default java listeners). Each parse worker executes
+     * its own {@link ListenerBase#createWorkerListener()}.
+     */
+    private final boolean parseTimeListening;
+
+    /**
+     * If true the bodies of methods, constructors and initializers are skipped before they reach the parser, so only the
+     * declarations are parsed.<br>
+     * <b>Attention:</b><br>
+     * Local and anonymous classes declared within these bodies are not part of the parse tree.
+     */
+    private final boolean declarationsOnly;
+
+    /**
+     * The charset of the source code files.
+     */
+    @Builder.Default
+    private final Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Glob patterns of the directory names that are not scanned for source code files (e.g. build output).
+     */
+    @Builder.Default
+    private final List<String> ignorePatterns = List.of("target", "build", ".git");
+
+    /**
+     * Returns the default options, the files are parsed sequentially on the calling thread.
+     *
+     * @return the default options
+     */
+    public static ParserOptions defaults() {
+        return ParserOptions.builder().build();
+    }
+}
\ No newline at end of file
@@ -17,6 +17,7 @@ package de.marabs.analyse.perser.common;
 
 import lombok.Builder;
 import lombok.Data;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 /**
@@ -28,7 +29,21 @@ import org.antlr.v4.runtime.tree.ParseTree;
 @Builder
 public class ParserResult {
 
+    /**
+     * The parse tree or NULL if the listeners were executed while parsing.
+     */
     private ParseTree parseTree;
     private String sourceName;
 
+    /**
+     * The prediction mode the file was finally parsed with, {@link PredictionMode#LL} only if {@link PredictionMode#SLL}
+     * has bailed out.
+     */
+    private PredictionMode predictionMode;
+
+    /**
+     * The duration of the successful parse in milliseconds.
+     */
+    private long parseDurationMillis;
+
 }
\ No newline at end of file
@@ -15,8 +15,10 @@
  */
 package de.marabs.analyse.perser.common;
 
-import de.marabs.analyse.perser.common.library.Library;
+import de.marabs.analyse.common.component.Component;
 import de.marabs.analyse.common.constant.ParserConstants;
+import de.marabs.analyse.common.exception.ParseException;
+import de.marabs.analyse.perser.common.library.Library;
 import lombok.Synchronized;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.atn.PredictionMode;
@@ -28,15 +30,32 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.marabs.analyse.common.constant.CommonConstants.*;
 import static java.io.File.separator;
 import static java.text.MessageFormat.format;
 import static java.util.Objects.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.antlr.v4.runtime.tree.ParseTreeWalker.DEFAULT;
 
 /**
@@ -48,12 +67,21 @@ public abstract class SourceParserBase {
 
     private static final Logger LOGGER = LogManager.getLogger(SourceParserBase.class);
 
+    /**
+     * Number of parse trees each worker may have ready before the listeners have to catch up in streaming mode.
+     */
+    private static final int FILES_IN_FLIGHT_PER_WORKER = 2;
+
     protected final ParseTreeWalker treeWalker;
     protected final ApplicationBase application;
     protected final StopWatch sw;
     protected final StopWatch listenerSw;
-    protected Integer numberOfFiles;
-    protected Integer countFiles;
+    protected final ParserOptions options;
+    protected final AtomicInteger numberOfFiles;
+    protected final AtomicInteger countFiles;
+    protected final Map<PredictionMode, AtomicInteger> predictionModeCounts;
+    protected final AtomicInteger failedFiles;
+    protected final ParseCostModel costModel;
     protected List<ListenerBase> defaultListeners;
     protected List<ListenerBase> listeners;
 
@@ -61,12 +89,27 @@ public abstract class SourceParserBase {
      * Creates a new instance and initializes it.
      *
      * @param application the underlying application (e.g. JavaApplication).
+     * @param options     the options of the parser, if NULL the {@link ParserOptions#defaults()} are used
+     * @throws IllegalArgumentException if the worker count of the options is less than 1
      */
-    public SourceParserBase(ApplicationBase application) {
+    public SourceParserBase(ApplicationBase application, ParserOptions options) {
         this.application = application;
+        this.options = isNull(options) ? ParserOptions.defaults() : options;
+        if (this.options.getWorkerCount() < 1) {
+            throw new IllegalArgumentException("The worker count must be >= 1.");
+        }
         this.treeWalker = DEFAULT;
         this.sw = new StopWatch();
         this.listenerSw = new StopWatch();
+        this.numberOfFiles = new AtomicInteger();
+        this.countFiles = new AtomicInteger();
+        // All keys are created upfront, so the parse workers only read the map
+        this.predictionModeCounts = new EnumMap<>(PredictionMode.class);
+        for (PredictionMode mode : PredictionMode.values()) {
+            predictionModeCounts.put(mode, new AtomicInteger());
+        }
+        this.failedFiles = new AtomicInteger();
+        this.costModel = new ParseCostModel(this.options.getParseHistoryFile());
         this.defaultListeners = new ArrayList<>();
         this.listeners = new ArrayList<>();
     }
@@ -74,11 +117,13 @@ public abstract class SourceParserBase {
     // #################################################################################################################
 
     /**
-     * Parses the files specified by {@code filesToParse}.
+     * Parses the files specified by {@code filesToParse}.<br>
+     * The files may be iterated once per listener pass, all of them are known before the first one is parsed. The number
+     * of files of an {@link Iterable} that is not a {@link Collection} is counted while iterating.
      *
      * @param files         the files to be parsed
      */
-    public abstract void parseFiles(List<File> files);
+    public abstract void parseFiles(Iterable<File> files);
 
     /**
      * Set the specified {@code listeners}.
@@ -109,14 +154,20 @@ public abstract class SourceParserBase {
     }
 
     /**
-     * Executes the parse with the specified prediction mode {@code mode} on the specified {@code file}.
+     * Executes the parse with the specified prediction mode {@code mode} on the specified {@code file}.<br>
+     * If {@code parseListener} is not NULL it receives the events while parsing and no parse tree is built, the
+     * result contains no parse tree in this case.<br>
+     * <b>Attention:</b><br>
+     * This method is called concurrently from the parse workers, so lexer and parser must not be shared between threads.
+     * The returned result has to contain the specified {@code mode} as {@link ParserResult#getPredictionMode()}.
      *
-     * @param file the file ti
-     * @param mode the prediction mode to be used
+     * @param file          the file to be parsed
+     * @param mode          the prediction mode to be used
+     * @param parseListener the listener to be executed while parsing or NULL to build the parse tree
      * @return the result of the parser
      * @throws IOException if an error occurs
      */
-    protected abstract ParserResult tryPredictionMode(File file, PredictionMode mode) throws IOException;
+    protected abstract ParserResult tryPredictionMode(File file, PredictionMode mode, ListenerBase parseListener) throws IOException;
 
     /**
      * Initializes the application with the library specified by {@code entry}.
@@ -130,19 +181,41 @@ public abstract class SourceParserBase {
     // #################################################################################################################
 
     /**
-     * Parses the source code and returns the {@link ParserResult}.
+     * Parses the source code and returns the {@link ParserResult}.<br>
+     * The file is parsed with the fast {@link PredictionMode#SLL} first, only if it bails out the file is parsed again
+     * with the full {@link PredictionMode#LL}. Both stages use a bail out error strategy, so a file that fails with
+     * {@link PredictionMode#LL} contains a real syntax error.
      *
      * @param file the source code to be parsed
      * @return the parser result or NULL if the file can not be parsed
      */
-    @Synchronized
     protected ParserResult parseFile(File file) {
+        return parseFile(file, null);
+    }
+
+    /**
+     * Parses the source code like {@link #parseFile(File)}, if {@code parseListener} is not NULL it receives the events
+     * while parsing instead of building a parse tree. The listener is reset before the {@link PredictionMode#LL} retry,
+     * so it only keeps the events of the successful parse.
+     *
+     * @param file          the source code to be parsed
+     * @param parseListener the listener to be executed while parsing or NULL to build the parse tree
+     * @return the parser result or NULL if the file can not be parsed
+     */
+    protected ParserResult parseFile(File file, ListenerBase parseListener) {
+        long startNanos = System.nanoTime();
         try {
+            ParserResult parserResult;
             try {
-                return tryPredictionMode(file, PredictionMode.LL);
-            } catch (IOException | RecognitionException | ParseCancellationException ex) {
-                return tryPredictionMode(file, PredictionMode.LL_EXACT_AMBIG_DETECTION);
+                parserResult = tryPredictionMode(file, PredictionMode.SLL, parseListener);
+            } catch (RecognitionException | ParseCancellationException ex) {
+                LOGGER.debug("SLL bailed out on file [{}], retrying with LL.", file.getName());
+                resetParseListener(parseListener, file);
+                parserResult = tryPredictionMode(file, PredictionMode.LL, parseListener);
             }
+            predictionModeCounts.get(parserResult.getPredictionMode()).incrementAndGet();
+            costModel.record(file, System.nanoTime() - startNanos);
+            return parserResult;
         } catch (IOException ex) {
             String fileName = cleanupFileName(file.getAbsolutePath());
             LOGGER.error("Can not parse file [{}] due to: {}", fileName, ex);
@@ -150,34 +223,35 @@ public abstract class SourceParserBase {
             String fileName = cleanupFileName(file.getAbsolutePath());
             LOGGER.error("Parsing error in file [{}] due to: {}", fileName, ex);
         }
+        failedFiles.incrementAndGet();
         return null;
     }
 
     /**
-     * Executes the parser for all specified {@code files}.
+     * Executes the parser for all specified {@code files}.<br>
+     * The files are distributed over {@link ParserOptions#getWorkerCount()} workers of a work stealing pool, the most
+     * expensive file according to the {@link ParseCostModel} is parsed first. Parsing starts when all files are found,
+     * so every file is known when the first one is dispatched. The results are sorted by their source name regardless of
+     * the order in which the files were found and the workers finish, so the components are merged in the same order
+     * with any number of workers.
      *
      * @param files the files to be parsed
      * @return the parsing results
      */
     @Synchronized
-    protected List<ParserResult> executeParser(List<File> files) {
+    protected List<ParserResult> executeParser(Iterable<File> files) {
         sw.start();
 
-        countFiles = 1;
-        numberOfFiles = files.size();
+        initFileCount(files);
+        resetParseStatistics();
 
-        List<ParserResult> parserResults = new ArrayList<>(numberOfFiles);
-        files.stream()
-            .map(this::parseFile)
-            .filter(Objects::nonNull)
-            .forEach(parserResult -> {
-                countFiles++;
-                parserResults.add(parserResult);
-            });
+        List<ParserResult> parserResults = options.getWorkerCount() == 1 ? parseSequential(files) : parseParallel(files);
+        parserResults.sort(Comparator.comparing(ParserResult::getSourceName));
 
         sw.stop();
         LOGGER.info(SEPARATOR);
-        LOGGER.info("{} processed {} files in {}.", this.getClass().getSimpleName(), numberOfFiles, sw);
+        LOGGER.info("{} processed {} files with {} worker(s) in {}.", this.getClass().getSimpleName(), numberOfFiles, options.getWorkerCount(), sw);
+        logParseStatistics();
         LOGGER.info(SEPARATOR);
         sw.reset();
 
@@ -193,21 +267,18 @@ public abstract class SourceParserBase {
     @Synchronized
     protected void executeListener(List<ParserResult> parserResults, ListenerBase listener) {
         sw.start();
-        String listenerName = listener.getClass().getSimpleName();
+        String listenerName = getListenerName(listener);
 
-        countFiles = 1;
-        numberOfFiles = parserResults.size();
+        countFiles.set(1);
+        numberOfFiles.set(parserResults.size());
 
         parserResults.forEach(parserResult -> {
             listenerSw.start();
-            listener.setSourceName(parserResult.getSourceName());
-            treeWalker.walk(listener, parserResult.getParseTree());
-            application.mergeWithApplication(listener.getResult());
-            listener.reset();
+            walkAndMerge(parserResult, listener);
             listenerSw.stop();
 
             LOGGER.info("Executed [{}] | Duration [{}] | File [{} of {}] -> {}", listenerName, listenerSw.toString(), countFiles, numberOfFiles, parserResult.getSourceName());
-            countFiles++;
+            countFiles.incrementAndGet();
             listenerSw.reset();
         });
 
@@ -218,13 +289,118 @@ public abstract class SourceParserBase {
         sw.reset();
     }
 
+    /**
+     * Parses the specified {@code files} and executes the specified {@code listener} on each parse tree as soon as it
+     * is available. The parse tree is released after the listener is executed, so at most
+     * {@link ParserOptions#getWorkerCount()} * {@value #FILES_IN_FLIGHT_PER_WORKER} parse trees are kept in memory.<br>
+     * The listener is executed on the calling thread in the order of the source names of the specified {@code files},
+     * so parsing starts when all files are found.
+     *
+     * @param files    the files to be parsed
+     * @param listener the listener to be executed on each parse tree (e.g. a {@link CompositeListener})
+     */
+    @Synchronized
+    protected void executeStreaming(Iterable<File> files, ListenerBase listener) {
+        sw.start();
+
+        List<File> sortedFiles = sortBySourceName(files);
+
+        initFileCount(sortedFiles);
+        resetParseStatistics();
+
+        if (options.getWorkerCount() == 1) {
+            sortedFiles.forEach(file -> {
+                countFile(sortedFiles);
+                walkAndMerge(parseFile(file), listener);
+            });
+        } else {
+            streamParallel(sortedFiles, listener);
+        }
+
+        sw.stop();
+        LOGGER.info(SEPARATOR);
+        LOGGER.info("{} parsed and executed [{}] on {} files with {} worker(s) in {}.",
+                    this.getClass().getSimpleName(), getListenerName(listener), numberOfFiles, options.getWorkerCount(), sw);
+        logParseStatistics();
+        LOGGER.info(SEPARATOR);
+        sw.reset();
+    }
+
+    /**
+     * Parses the specified {@code files} and executes the specified {@code listener} while parsing, no parse tree is
+     * built. The listener has to {@link ListenerBase#supportsParseTimeListening()}.<br>
+     * Every parse worker executes its own {@link ListenerBase#createWorkerListener()}, the results are merged on the
+     * calling thread in the order of the source names of the specified {@code files}. If the listener can not be
+     * created for the workers, the files are parsed on the calling thread with the specified {@code listener}.
+     *
+     * @param files    the files to be parsed
+     * @param listener the listener to be executed while parsing (e.g. a {@link CompositeListener})
+     * @throws IllegalArgumentException if the listener does not support parse time listening
+     */
+    @Synchronized
+    protected void executeParseTimeListener(Iterable<File> files, ListenerBase listener) {
+        if (!listener.supportsParseTimeListening()) {
+            throw new IllegalArgumentException("The listener [" + getListenerName(listener) + "] requires a parse tree.");
+        }
+        sw.start();
+
+        List<File> sortedFiles = sortBySourceName(files);
+
+        initFileCount(sortedFiles);
+        resetParseStatistics();
+
+        ListenerBase parseListener = listener.createWorkerListener();
+        int workerCount = options.getWorkerCount() == 1 || isNull(parseListener) ? 1 : options.getWorkerCount();
+        if (workerCount == 1) {
+            ListenerBase sequentialListener = requireNonNullElse(parseListener, listener);
+            sortedFiles.forEach(file -> parseWithListener(file, sequentialListener).forEach(application::mergeWithApplication));
+        } else {
+            parseTimeParallel(sortedFiles, listener);
+        }
+
+        sw.stop();
+        LOGGER.info(SEPARATOR);
+        LOGGER.info("{} parsed {} files with [{}] executed while parsing with {} worker(s) in {}.",
+                    this.getClass().getSimpleName(), numberOfFiles, getListenerName(listener), workerCount, sw);
+        logParseStatistics();
+        LOGGER.info(SEPARATOR);
+        sw.reset();
+    }
+
+    /**
+     * Groups the specified {@code listeners} into passes, the listeners of a pass are fused into one
+     * {@link CompositeListener} so that each parse tree is walked only once per pass.<br>
+     * The first pass contains all listeners that can run without the declarations of all files, the second pass the
+     * ones that {@link ListenerBase#requiresCompletedDeclarationPass()}. The order within a pass is preserved.
+     *
+     * @param listeners the listeners to be grouped
+     * @return the listener of each pass in execution order
+     */
+    protected List<ListenerBase> fuseListeners(List<ListenerBase> listeners) {
+        requireNonNull(listeners, "NULL is not permitted as a value for the 'listeners' parameter.");
+
+        List<ListenerBase> declarationPass = new ArrayList<>();
+        List<ListenerBase> completedDeclarationPass = new ArrayList<>();
+        listeners.forEach(listener -> {
+            if (listener.requiresCompletedDeclarationPass()) {
+                completedDeclarationPass.add(listener);
+            } else {
+                declarationPass.add(listener);
+            }
+        });
+
+        List<ListenerBase> passes = new ArrayList<>(2);
+        addPass(passes, declarationPass);
+        addPass(passes, completedDeclarationPass);
+        return passes;
+    }
+
     /**
      * Replaces the {@link ParserConstants#USER_DIR} and {@link ParserConstants#USER_HOME_DIR} with empty string.
      *
      * @param fileName the file name to be cleaned up
      * @return the cleaned up file name
      */
-    @Synchronized
     protected String cleanupFileName(String fileName) {
         if (fileName.contains(USER_DIR)) {
             fileName = fileName.replace(USER_DIR, EMPTY_STRING);
@@ -265,21 +441,264 @@ public abstract class SourceParserBase {
     }
 
     /**
-     * Determines the id of the revision to be parsed.
+     * Returns the listeners of this parser.
      *
-     * @return the revision id
+     * @return the listeners
      */
-    protected String determineRevisionId() {
-        // FIXME Determine revisionId -> implement it
-        return UUID.randomUUID().toString();
+    protected List<ListenerBase> getListeners() {
+        return listeners;
     }
 
+    // #################################################################################################################
+
     /**
-     * Returns the listeners of this parser.
+     * Returns the specified {@code files} sorted by their source name, so the merge order does not depend on the order
+     * in which the caller passes the files.
      *
-     * @return the listeners
+     * @param files the files to be sorted
+     * @return the sorted files
      */
-    protected List<ListenerBase> getListeners() {
-        return listeners;
+    private List<File> sortBySourceName(Iterable<File> files) {
+        List<File> sortedFiles = new ArrayList<>();
+        files.forEach(sortedFiles::add);
+        sortedFiles.sort(Comparator.comparing(file -> cleanupFileName(file.getAbsolutePath())));
+        return sortedFiles;
+    }
+
+    private List<ParserResult> parseSequential(Iterable<File> files) {
+        List<ParserResult> parserResults = new ArrayList<>();
+        files.forEach(file -> {
+            countFile(files);
+            ParserResult parserResult = parseFile(file);
+            if (nonNull(parserResult)) {
+                parserResults.add(parserResult);
+            }
+        });
+        return parserResults;
+    }
+
+    private List<ParserResult> parseParallel(Iterable<File> files) {
+        ForkJoinPool pool = new ForkJoinPool(options.getWorkerCount(), createForkJoinWorkerThreadFactory(), null, false);
+        PriorityBlockingQueue<PendingFile> pendingFiles = new PriorityBlockingQueue<>();
+        Map<String, Long> workerFinishNanos = new ConcurrentHashMap<>();
+        long startNanos = System.nanoTime();
+        try {
+            // The parse times are recorded while parsing, all files are estimated with the same rate
+            double nanosPerByte = costModel.getNanosPerByte();
+            List<CompletableFuture<ParserResult>> futures = new ArrayList<>();
+            for (File file : files) {
+                countFile(files);
+                CompletableFuture<ParserResult> future = new CompletableFuture<>();
+                futures.add(future);
+                pendingFiles.add(new PendingFile(file, costModel.estimateNanos(file, nanosPerByte), futures.size(), future));
+            }
+            // All files are queued before the first task runs, so each task parses the most expensive pending file
+            for (int i = 0; i < futures.size(); i++) {
+                pool.execute(() -> parsePendingFile(pendingFiles.poll(), workerFinishNanos));
+            }
+
+            // Collecting in submission order keeps the result independent of the completion order
+            List<ParserResult> parserResults = new ArrayList<>(futures.size());
+            for (Future<ParserResult> future : futures) {
+                ParserResult parserResult = future.get();
+                if (nonNull(parserResult)) {
+                    parserResults.add(parserResult);
+                }
+            }
+            logTailLatency(startNanos, workerFinishNanos);
+            return parserResults;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ParseException("Parsing was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new ParseException("Parse worker failed due to: " + ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void parsePendingFile(PendingFile pendingFile, Map<String, Long> workerFinishNanos) {
+        try {
+            pendingFile.result.complete(parseFile(pendingFile.file));
+        } catch (RuntimeException | Error ex) {
+            pendingFile.result.completeExceptionally(ex);
+        }
+        workerFinishNanos.put(Thread.currentThread().getName(), System.nanoTime());
+    }
+
+    private void logTailLatency(long startNanos, Map<String, Long> workerFinishNanos) {
+        if (workerFinishNanos.isEmpty()) {
+            return;
+        }
+        long firstFinished = Collections.min(workerFinishNanos.values()) - startNanos;
+        long lastFinished = Collections.max(workerFinishNanos.values()) - startNanos;
+        LOGGER.info("Tail latency | Workers [{}] | First finished [{} ms] | Last finished [{} ms] | Gap [{} ms]",
+                    workerFinishNanos.size(), NANOSECONDS.toMillis(firstFinished), NANOSECONDS.toMillis(lastFinished),
+                    NANOSECONDS.toMillis(lastFinished - firstFinished));
+    }
+
+    private void streamParallel(Iterable<File> files, ListenerBase listener) {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getWorkerCount(), createWorkerThreadFactory());
+        try {
+            int maxFilesInFlight = options.getWorkerCount() * FILES_IN_FLIGHT_PER_WORKER;
+            Deque<Future<ParserResult>> filesInFlight = new ArrayDeque<>(maxFilesInFlight);
+            for (File file : files) {
+                if (filesInFlight.size() >= maxFilesInFlight) {
+                    walkAndMerge(filesInFlight.removeFirst().get(), listener);
+                }
+                countFile(files);
+                filesInFlight.addLast(executor.submit(() -> parseFile(file)));
+            }
+            while (!filesInFlight.isEmpty()) {
+                walkAndMerge(filesInFlight.removeFirst().get(), listener);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ParseException("Parsing was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new ParseException("Parse worker failed due to: " + ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void parseTimeParallel(List<File> files, ListenerBase listener) {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getWorkerCount(), createWorkerThreadFactory());
+        // Each worker thread parses with its own listener, the listener of the calling thread is not used
+        ThreadLocal<ListenerBase> workerListeners = ThreadLocal.withInitial(listener::createWorkerListener);
+        try {
+            int maxFilesInFlight = options.getWorkerCount() * FILES_IN_FLIGHT_PER_WORKER;
+            Deque<Future<List<Component>>> filesInFlight = new ArrayDeque<>(maxFilesInFlight);
+            for (File file : files) {
+                if (filesInFlight.size() >= maxFilesInFlight) {
+                    filesInFlight.removeFirst().get().forEach(application::mergeWithApplication);
+                }
+                filesInFlight.addLast(executor.submit(() -> parseWithListener(file, workerListeners.get())));
+            }
+            while (!filesInFlight.isEmpty()) {
+                filesInFlight.removeFirst().get().forEach(application::mergeWithApplication);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ParseException("Parsing was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new ParseException("Parse worker failed due to: " + ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the specified {@code file} with the specified {@code parseListener} and returns its results, the listener
+     * is reset afterwards.
+     *
+     * @return the results of the listener or an empty list if the file can not be parsed
+     */
+    private List<Component> parseWithListener(File file, ListenerBase parseListener) {
+        parseListener.setSourceName(cleanupFileName(file.getAbsolutePath()));
+        try {
+            return nonNull(parseFile(file, parseListener)) ? List.copyOf(parseListener.getResults()) : List.of();
+        } finally {
+            parseListener.reset();
+        }
+    }
+
+    private void walkAndMerge(ParserResult parserResult, ListenerBase listener) {
+        if (isNull(parserResult)) {
+            return;
+        }
+
+        listener.setSourceName(parserResult.getSourceName());
+        treeWalker.walk(listener, parserResult.getParseTree());
+        mergeAndReset(listener);
+    }
+
+    private void mergeAndReset(ListenerBase listener) {
+        listener.getResults().forEach(application::mergeWithApplication);
+        listener.reset();
+    }
+
+    private void resetParseListener(ListenerBase parseListener, File file) {
+        if (nonNull(parseListener)) {
+            parseListener.reset();
+            parseListener.setSourceName(cleanupFileName(file.getAbsolutePath()));
+        }
+    }
+
+    private void initFileCount(Iterable<File> files) {
+        countFiles.set(0);
+        // The number of files is only known upfront for a collection, otherwise the files are counted as they arrive
+        numberOfFiles.set(files instanceof Collection ? ((Collection<?>) files).size() : 0);
+    }
+
+    private void countFile(Iterable<File> files) {
+        if (!(files instanceof Collection)) {
+            numberOfFiles.incrementAndGet();
+        }
+    }
+
+    private void resetParseStatistics() {
+        predictionModeCounts.values().forEach(count -> count.set(0));
+        failedFiles.set(0);
+    }
+
+    private void logParseStatistics() {
+        LOGGER.info("Prediction mode SLL [{}] | LL [{}] | Failed [{}]",
+                    predictionModeCounts.get(PredictionMode.SLL), predictionModeCounts.get(PredictionMode.LL), failedFiles);
+        LOGGER.info(application.getStringPool());
+        costModel.save();
+    }
+
+    private void addPass(List<ListenerBase> passes, List<ListenerBase> passListeners) {
+        if (passListeners.size() == 1) {
+            passes.add(passListeners.get(0));
+        } else if (passListeners.size() > 1) {
+            passes.add(new CompositeListener(passListeners));
+        }
+    }
+
+    private String getListenerName(ListenerBase listener) {
+        return listener instanceof CompositeListener ? listener.toString() : listener.getClass().getSimpleName();
+    }
+
+    private ForkJoinPool.ForkJoinWorkerThreadFactory createForkJoinWorkerThreadFactory() {
+        String prefix = this.getClass().getSimpleName().concat("-worker-");
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + threadNumber.getAndIncrement());
+            return thread;
+        };
+    }
+
+    private ThreadFactory createWorkerThreadFactory() {
+        String prefix = this.getClass().getSimpleName().concat("-worker-");
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class PendingFile implements Comparable<PendingFile> {
+        private final File file;
+        private final long estimatedNanos;
+        private final int sequence;
+        private final CompletableFuture<ParserResult> result;
+
+        private PendingFile(File file, long estimatedNanos, int sequence, CompletableFuture<ParserResult> result) {
+            this.file = file;
+            this.estimatedNanos = estimatedNanos;
+            this.sequence = sequence;
+            this.result = result;
+        }
+
+        @Override
+        public int compareTo(PendingFile other) {
+            // Most expensive first, files with the same estimation in the order they were found
+            int compare = Long.compare(other.estimatedNanos, estimatedNanos);
+            return compare != 0 ? compare : Integer.compare(sequence, other.sequence);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.common.library;
+
+import de.marabs.analyse.common.component.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static de.marabs.analyse.common.constant.ParserConstants.NULL_NOT_PERMITTED_FOR_UNIQUE_COORDINATE_PARAM;
+import static de.marabs.analyse.common.constant.ParserConstants.UNIQUE_DELIMITER;
+import static java.util.Objects.*;
+
+/**
+ * {@code LibraryIndex} is the immutable index of the unique coordinates of all components of a library.<br>
+ * The coordinates are kept in a sorted array and are looked up by binary search, so a lookup does not allocate. As the
+ * index is never modified after its creation it can be shared across threads without locking.<br>
+ * <b>Attention:</b><br>
+ * Components added to the library after the index has been created are not part of the index.
+ *
+ * @author Martin Absmeier
+ */
+public final class LibraryIndex {
+
+    private final String[] coordinates;
+    private final Component[] components;
+
+    /**
+     * Creates the index of all components below the specified {@code library}.<br>
+     * If several components have the same unique coordinate (e.g. overloaded methods) the first one in depth-first
+     * order is indexed.
+     *
+     * @param library the root component of the library
+     */
+    public LibraryIndex(Component library) {
+        requireNonNull(library, "NULL is not permitted as a value for the 'library' parameter.");
+
+        List<String> allCoordinates = new ArrayList<>();
+        List<Component> allComponents = new ArrayList<>();
+        for (Component child : library.getChildren()) {
+            collect(child, child.getUniqueCoordinate(), allCoordinates, allComponents);
+        }
+
+        // The sort is stable, so the first of equal coordinates stays in front of the others
+        Integer[] order = new Integer[allCoordinates.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(allCoordinates::get));
+
+        String[] sortedCoordinates = new String[order.length];
+        Component[] sortedComponents = new Component[order.length];
+        int size = 0;
+        for (Integer i : order) {
+            String coordinate = allCoordinates.get(i);
+            if (size == 0 || !sortedCoordinates[size - 1].equals(coordinate)) {
+                sortedCoordinates[size] = coordinate;
+                sortedComponents[size] = allComponents.get(i);
+                size++;
+            }
+        }
+        coordinates = Arrays.copyOf(sortedCoordinates, size);
+        components = Arrays.copyOf(sortedComponents, size);
+    }
+
+    /**
+     * Retrieves the component specified by {@code uniqueCoordinate}.
+     *
+     * @param uniqueCoordinate the unique coordinate of the component
+     * @return the component or NULL if no one is found
+     */
+    public Component find(String uniqueCoordinate) {
+        requireNonNull(uniqueCoordinate, NULL_NOT_PERMITTED_FOR_UNIQUE_COORDINATE_PARAM);
+
+        int position = Arrays.binarySearch(coordinates, uniqueCoordinate);
+        return position < 0 ? null : components[position];
+    }
+
+    /**
+     * Returns the number of indexed unique coordinates.
+     *
+     * @return the number of unique coordinates
+     */
+    public int size() {
+        return coordinates.length;
+    }
+
+    // #################################################################################################################
+    // Private methods
+
+    private static void collect(Component component, String uniqueCoordinate, List<String> allCoordinates, List<Component> allComponents) {
+        if (isNull(uniqueCoordinate)) {
+            return;
+        }
+
+        allCoordinates.add(uniqueCoordinate);
+        allComponents.add(component);
+        for (Component child : component.getChildren()) {
+            if (nonNull(child.getValue())) {
+                collect(child, uniqueCoordinate.concat(UNIQUE_DELIMITER).concat(child.getValue()), allCoordinates, allComponents);
+            }
+        }
+    }
+}
\ No newline at end of file
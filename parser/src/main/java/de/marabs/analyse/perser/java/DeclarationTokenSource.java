@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.java;
+
+import de.marabs.analyse.parser.generated.java.JavaLexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static de.marabs.analyse.parser.generated.java.JavaLexer.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code DeclarationTokenSource} drops the content of method, constructor and initializer bodies from the tokens of a
+ * {@link JavaLexer}, only the opening and the matching closing brace of each body are passed to the parser.<br>
+ * The parser sees every body as an empty block, so the regular grammar accepts the elided source and the source
+ * positions of the declarations are unchanged. Field initializers and enum constant arguments are passed unchanged,
+ * so anonymous classes declared there are still parsed completely.
+ *
+ * @author Martin Absmeier
+ */
+public class DeclarationTokenSource implements TokenSource {
+
+    private final TokenSource source;
+    private final Deque<Scope> scopes;
+    private boolean afterParameters;
+    private boolean skipping;
+
+    /**
+     * Creates a new instance of {@code DeclarationTokenSource} reading the tokens of the specified {@code source}.
+     *
+     * @param source the token source (e.g. a {@link JavaLexer})
+     */
+    public DeclarationTokenSource(TokenSource source) {
+        requireNonNull(source, "NULL is not permitted as a value for the 'source' parameter.");
+        this.source = source;
+        this.scopes = new ArrayDeque<>();
+        this.scopes.push(new Scope(true, true, false));
+    }
+
+    @Override
+    public Token nextToken() {
+        if (skipping) {
+            return skipBody();
+        }
+
+        Token token = source.nextToken();
+        if (token.getChannel() != Token.DEFAULT_CHANNEL || token.getType() == EOF) {
+            return token;
+        }
+
+        Scope scope = scopes.peek();
+        if (!scope.typeBody) {
+            trackBraces(token.getType());
+            return token;
+        }
+
+        boolean memberStart = scope.memberStart;
+        boolean afterStatic = scope.afterStatic;
+        boolean bodyMayFollow = afterParameters;
+        scope.memberStart = false;
+        scope.afterStatic = false;
+        afterParameters = false;
+
+        switch (token.getType()) {
+            case LPAREN:
+                scope.parenDepth++;
+                break;
+            case RPAREN:
+                scope.parenDepth--;
+                afterParameters = scope.parenDepth == 0;
+                break;
+            case LBRACK:
+            case RBRACK:
+            case THROWS:
+            case IDENTIFIER:
+            case DOT:
+            case COMMA:
+                // Array brackets and the throws clause may follow the parameters of a method
+                afterParameters = bodyMayFollow;
+                break;
+            case ASSIGN:
+                scope.initializer |= scope.parenDepth == 0;
+                break;
+            case DEFAULT:
+                // The default value of an annotation method, otherwise it is a modifier
+                scope.initializer |= bodyMayFollow;
+                break;
+            case ENUM:
+                scope.enumHeader = true;
+                break;
+            case STATIC:
+                scope.afterStatic = memberStart;
+                break;
+            case SEMI:
+                if (scope.parenDepth == 0) {
+                    scope.startMember();
+                    scope.enumConstants = false;
+                }
+                break;
+            case LBRACE:
+                openBrace(scope, bodyMayFollow || memberStart || afterStatic);
+                break;
+            case RBRACE:
+                closeScope();
+                break;
+            default:
+                break;
+        }
+        return token;
+    }
+
+    @Override
+    public int getLine() {
+        return source.getLine();
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return source.getCharPositionInLine();
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return source.getInputStream();
+    }
+
+    @Override
+    public String getSourceName() {
+        return source.getSourceName();
+    }
+
+    @Override
+    public void setTokenFactory(TokenFactory<?> factory) {
+        source.setTokenFactory(factory);
+    }
+
+    @Override
+    public TokenFactory<?> getTokenFactory() {
+        return source.getTokenFactory();
+    }
+
+    // #################################################################################################################
+    // Private methods
+
+    private void openBrace(Scope scope, boolean bodyExpected) {
+        if (scope.parenDepth > 0 || scope.initializer) {
+            // Array initializer, lambda or anonymous class of an expression
+            scopes.push(new Scope(false, false, false));
+        } else if (scope.enumConstants) {
+            // Class body of an enum constant
+            scopes.push(new Scope(true, false, false));
+        } else if (bodyExpected) {
+            skipping = true;
+        } else {
+            scopes.push(new Scope(true, true, scope.enumHeader));
+            scope.enumHeader = false;
+        }
+    }
+
+    private Token skipBody() {
+        int depth = 1;
+        while (true) {
+            Token token = source.nextToken();
+            if (token.getType() == EOF) {
+                skipping = false;
+                return token;
+            }
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                if (token.getType() == LBRACE) {
+                    depth++;
+                } else if (token.getType() == RBRACE && --depth == 0) {
+                    skipping = false;
+                    scopes.peek().startMember();
+                    return token;
+                }
+            }
+        }
+    }
+
+    private void trackBraces(int type) {
+        if (type == LBRACE) {
+            scopes.push(new Scope(false, false, false));
+        } else if (type == RBRACE) {
+            closeScope();
+        }
+    }
+
+    private void closeScope() {
+        Scope closed = scopes.pop();
+        if (scopes.isEmpty()) {
+            // Unbalanced braces, the parser reports the syntax error
+            scopes.push(new Scope(true, true, false));
+        } else if (closed.declaration) {
+            scopes.peek().startMember();
+        }
+    }
+
+    private static class Scope {
+        private final boolean typeBody;
+        private final boolean declaration;
+        private boolean enumConstants;
+        private boolean enumHeader;
+        private boolean initializer;
+        private boolean memberStart;
+        private boolean afterStatic;
+        private int parenDepth;
+
+        private Scope(boolean typeBody, boolean declaration, boolean enumConstants) {
+            this.typeBody = typeBody;
+            this.declaration = declaration;
+            this.enumConstants = enumConstants;
+            this.memberStart = true;
+        }
+
+        private void startMember() {
+            memberStart = true;
+            afterStatic = false;
+            initializer = false;
+            enumHeader = false;
+        }
+    }
+}
\ No newline at end of file
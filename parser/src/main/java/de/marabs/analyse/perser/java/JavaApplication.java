@@ -18,18 +18,14 @@ package de.marabs.analyse.perser.java;
 import de.marabs.analyse.common.component.Component;
 import de.marabs.analyse.common.component.type.ComponentType;
 import de.marabs.analyse.common.exception.ParseException;
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.common.ApplicationBase;
-import lombok.Synchronized;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_MODIFIER;
 import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_SIGNATURE;
 import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static de.marabs.analyse.common.component.type.ModifierType.*;
 import static de.marabs.analyse.common.constant.CommonConstants.NULL_NOT_PERMITTED_FOR_COMPONENT_PARAM;
-import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -40,19 +36,11 @@ import static java.util.Objects.requireNonNull;
  */
 public class JavaApplication extends ApplicationBase {
 
-    private static JavaApplication INSTANCE;
-
     /**
-     * Creates a new instance of {@code JavaApplication} if necessary and returns it.
-     *
-     * @return the singleton instance
+     * Creates a new empty instance of {@code JavaApplication}, every {@link AnalysisSession} owns its own one.
      */
-    @Synchronized
-    public static JavaApplication getInstance() {
-        if (isNull(INSTANCE)) {
-            INSTANCE = new JavaApplication();
-        }
-        return INSTANCE;
+    public JavaApplication() {
+        // The components are merged by the parsers and listeners of the session
     }
 
     /*
@@ -61,12 +49,12 @@ public class JavaApplication extends ApplicationBase {
      * @param component the component
      * @return the {@link BaseType}
     public BaseType getBaseTypeOfComponent(Component component) {
-        List<ComponentAttribute> typeCandidates = component.findAttributesByType(JAVA_TYPE);
-        if (typeCandidates.isEmpty()) {
+        ComponentAttribute typeCandidate = component.findFirstAttributeByType(JAVA_TYPE);
+        if (isNull(typeCandidate)) {
             return null;
         }
 
-        String baseTypeName = typeCandidates.iterator().next().getValue();
+        String baseTypeName = typeCandidate.getValue();
         BaseType baseType = TypeCache.getInstance().findBaseTypeByUniqueIdentifier(baseTypeName);
         if (isNull(baseType)) {
             baseType = parseAndRegisterTypeString(baseTypeName);
@@ -87,12 +75,14 @@ public class JavaApplication extends ApplicationBase {
         requireNonNull(source, "NULL is not permitted as a value for the 'source' parameter.");
         requireNonNull(target, "NULL is not permitted as a value for the 'target' parameter.");
 
-        if (source.equals(target) && source.hasAttributes()) {
-            source.getAttributes().forEach(attribute -> {
-                if (!target.getAttributes().contains(attribute)) {
-                    target.addAttribute(attribute);
-                }
-            });
+        if (source.equals(target)) {
+            if (source.hasAttributes()) {
+                target.addAttributesIfNotContained(source.getAttributes());
+            }
+            target.addModifiers(source.getModifiers());
+            if (!target.hasSourcePosition()) {
+                target.copySourcePosition(source);
+            }
         }
     }
 
@@ -154,19 +144,10 @@ public class JavaApplication extends ApplicationBase {
      */
     public Component findTopLevelClass(Component component) {
         requireNonNull(component, NULL_NOT_PERMITTED_FOR_COMPONENT_PARAM);
-        Component topLevelClass = null;
         // Make sure we are searching in the application or library tree
         component = findComponentByUniqueCoordinate(component.getUniqueCoordinate());
 
-        // walk up until we are in class, interface or enumeration, because we may start this search from a method
-        while (component.hasParentAndParentIsNotRoot()) {
-            if (component.isType(JAVA_CLASS) || component.isType(JAVA_INTERFACE) || component.isType(JAVA_ENUM)) {
-                topLevelClass = component;
-            }
-            component = component.getParent();
-        }
-
-        return topLevelClass;
+        return component.getTopLevelType();
     }
 
     /**
@@ -189,16 +170,16 @@ public class JavaApplication extends ApplicationBase {
         // If a class or interface type is declared public, then it may be accessed by any code, provided that the compilation
         // unit in which it is declared is observable.
         // Interfaces are by definition public, but we added a default modifier before if not specified
-        if (component.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "public")) {
+        if (component.hasModifier(PUBLIC)) {
             return true;
         }
 
         //  Otherwise, if the member or constructor is declared protected, then access is permitted only when one
         //  of the following is true:
-        if (component.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "protected")) {
+        if (component.hasModifier(PROTECTED)) {
             // (1) Access to the member or constructor occurs from within the package containing the class in which the protected
             //     member or constructor is declared.
-            if (getPackage(component).equals(getPackage(visibleFrom))) {
+            if (isSamePackage(component, visibleFrom)) {
                 return true;
             }
             // (2) Access is correct as described in §6.6.2.
@@ -211,12 +192,9 @@ public class JavaApplication extends ApplicationBase {
         // We treat a parameterized type same as private as it is visible in the same scope:
         // The scope of a class's type parameter (§8.1.2) is the type parameter section of the class declaration, the type parameter section of any
         // superclass or superinterface of the class declaration, and the class body.
-        if (component.hasAttributeWithTypeAndValue(JAVA_MODIFIER, "private")
+        if (component.hasModifier(PRIVATE)
             || component.isType(JAVA_PARAMETERIZED_TYPE)) {
-            return (findTopLevelClass(component).getUniqueCoordinate()
-                .equals(findTopLevelClass(visibleFrom).getUniqueCoordinate()
-                )
-            );
+            return isSameComponent(findTopLevelClass(component), findTopLevelClass(visibleFrom));
         }
 
         // If we arrive here then the component has no modifier -> package access
@@ -225,29 +203,35 @@ public class JavaApplication extends ApplicationBase {
         //
         // A class or interface type declared without an access modifier implicitly has package access.
 
-        return getPackage(component).equals(getPackage(visibleFrom));
+        return isSamePackage(component, visibleFrom);
     }
 
     // #################################################################################################################
 
     /**
-     * Return the package of the specified {@code coponent}.
+     * Checks if the specified components are in the same package.
      *
      * @param component the component
-     * @return the package of the component
+     * @param other     the other component
+     * @return true if both components are in the same package, false otherwise
      */
-    private String getPackage(Component component) {
-        List<String> packageComponents = new ArrayList<>();
-
-        do {
-            if (component.isType(JAVA_PACKAGE)) {
-                packageComponents.add(component.getValue());
-            }
-            component = component.getParent();
-        } while (component.hasParentAndParentIsNotRoot());
+    private boolean isSamePackage(Component component, Component other) {
+        return isSameComponent(component.getEnclosingPackage(), other.getEnclosingPackage());
+    }
 
-        Collections.reverse(packageComponents);
-        return packageComponents.toString();
+    /**
+     * Checks if the specified components are the same, components of different trees (e.g. application and library)
+     * are the same if their unique coordinates are equal.
+     *
+     * @param component the component
+     * @param other     the other component
+     * @return true if both components are the same or both are NULL, false otherwise
+     */
+    private boolean isSameComponent(Component component, Component other) {
+        if (component == other) {
+            return true;
+        }
+        return nonNull(component) && nonNull(other) && component.getUniqueCoordinate().equals(other.getUniqueCoordinate());
     }
 
     private boolean isNotClassAndNotInterfaceAndNotEnum(Component currentComponent) {
@@ -288,8 +272,4 @@ public class JavaApplication extends ApplicationBase {
             .findFirst()
             .orElse(null);
     }
-
-    private JavaApplication() {
-        // JavaApplication is a singleton
-    }
 }
\ No newline at end of file
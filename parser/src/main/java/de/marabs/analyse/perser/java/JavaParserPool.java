@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.perser.java;
+
+import de.marabs.analyse.parser.generated.java.JavaLexer;
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.perser.common.LoggingErrorListener;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@code JavaParserPool} keeps one {@link JavaLexer} / {@link JavaParser} pair per thread and resets it for every
+ * file, instead of building the lexer, token stream, parser, error listener and error strategy for each parse.<br>
+ * The parse trees stay valid after the pair is reused, because every token keeps a reference to the input stream it
+ * was created from. After a parse {@link #release()} has to be called, so the idle pair does not keep the input, the
+ * tokens and the parse listeners (and everything they reference) reachable.
+ *
+ * @author Martin Absmeier
+ */
+public class JavaParserPool {
+
+    private final ThreadLocal<PooledParser> parsers = ThreadLocal.withInitial(PooledParser::new);
+
+    /**
+     * Returns the parser of the calling thread prepared to parse the specified {@code input} with the specified
+     * prediction {@code mode}.<br>
+     * <b>Attention:</b><br>
+     * The parser is only valid until the next call of this method on the same thread.
+     *
+     * @param input the source code to be parsed
+     * @param mode  the prediction mode to be used
+     * @return the prepared parser
+     */
+    public JavaParser prepare(CharStream input, PredictionMode mode) {
+        return prepare(input, mode, false);
+    }
+
+    /**
+     * Returns the parser of the calling thread prepared to parse the specified {@code input} with the specified
+     * prediction {@code mode}, if {@code declarationsOnly} is true the bodies of methods, constructors and initializers
+     * are elided by a {@link DeclarationTokenSource}.<br>
+     * <b>Attention:</b><br>
+     * The parser is only valid until the next call of this method on the same thread.
+     *
+     * @param input            the source code to be parsed
+     * @param mode             the prediction mode to be used
+     * @param declarationsOnly true if only the declarations are parsed
+     * @return the prepared parser
+     */
+    public JavaParser prepare(CharStream input, PredictionMode mode, boolean declarationsOnly) {
+        requireNonNull(input, "NULL is not permitted as a value for the 'input' parameter.");
+        requireNonNull(mode, "NULL is not permitted as a value for the 'mode' parameter.");
+
+        PooledParser pooled = parsers.get();
+        pooled.lexer.setInputStream(input);
+        pooled.tokens.setTokenSource(declarationsOnly ? new DeclarationTokenSource(pooled.lexer) : pooled.lexer);
+        pooled.parser.setTokenStream(pooled.tokens);
+        pooled.parser.getInterpreter().setPredictionMode(mode);
+        // A previous parse may have been executed with parse listeners and without building the parse tree
+        pooled.parser.removeParseListeners();
+        pooled.parser.setBuildParseTree(true);
+
+        return pooled.parser;
+    }
+
+    /**
+     * Releases the input, the tokens and the parse listeners of the parser of the calling thread, the pair itself is
+     * kept for the next call of {@link #prepare(CharStream, PredictionMode, boolean)}.<br>
+     * The parse tree of the last parse stays valid.
+     */
+    public void release() {
+        PooledParser pooled = parsers.get();
+        pooled.parser.removeParseListeners();
+        pooled.lexer.setInputStream(pooled.emptyInput);
+        pooled.tokens.setTokenSource(pooled.lexer);
+        pooled.parser.setTokenStream(pooled.tokens);
+    }
+
+    // #################################################################################################################
+    private static class PooledParser {
+        private final CharStream emptyInput = CharStreams.fromString("");
+        private final JavaLexer lexer;
+        private final CommonTokenStream tokens;
+        private final JavaParser parser;
+
+        private PooledParser() {
+            // The parser reads the first token when it is created, so the lexer needs an input
+            lexer = new JavaLexer(emptyInput);
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(new LoggingErrorListener());
+
+            tokens = new CommonTokenStream(lexer);
+            parser = new JavaParser(tokens);
+            parser.setErrorHandler(new BailErrorStrategy());
+        }
+    }
+}
\ No newline at end of file
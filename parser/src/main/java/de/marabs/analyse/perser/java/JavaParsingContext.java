@@ -16,6 +16,7 @@
 package de.marabs.analyse.perser.java;
 
 import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.ComponentNumbering;
 import de.marabs.analyse.perser.common.ParsingContextBase;
 import lombok.Builder;
 import lombok.Data;
@@ -234,24 +235,25 @@ public class JavaParsingContext extends ParsingContextBase {
      */
 
     /**
-     * Similar to the search for inner classes we need to also look into
+     * Similar to the search for inner classes we need to also look into the outer classes, interfaces and enumerations
+     * of the specified {@code component}. The parents are walked up as long as they are class-ish components.
      *
-     * @param component the component whose children are searched
+     * @param component the component whose parents are searched
      * @param value     the value we are looking for
-     * @return the outer classes, interfaces or enumeration
+     * @return the outer classes, interfaces or enumeration starting with the nearest one
      */
     private List<Component> searchForOuterClasses(Component component, String value) {
         requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
         requireNonNull(value, "NULL is not permitted as value for parameter 'value'.");
 
         List<Component> resultList = new ArrayList<>();
-        if (component.hasParentAndParentIsNotRoot()) {
-            Component parentComponent = component.getParent();
-            if (isClassOrInterfaceOrEnumOrTypeParameter(parentComponent)) {
-                if (parentComponent.getValue().equals(value)) {
-                    resultList.add(parentComponent);
-                }
-                resultList.addAll(searchForOuterClasses(parentComponent, value));
+        for (Component child = component; child.hasParentAndParentIsNotRoot(); child = child.getParent()) {
+            Component parentComponent = child.getParent();
+            if (!isClassOrInterfaceOrEnumOrTypeParameter(parentComponent)) {
+                break;
+            }
+            if (parentComponent.getValue().equals(value)) {
+                resultList.add(parentComponent);
             }
         }
 
@@ -260,11 +262,13 @@ public class JavaParsingContext extends ParsingContextBase {
 
     /**
      * When looking for visible components we need to consider that any inner class or interface (with public or matching
-     * visibility) can be found directly when the parent class is visible. In these cases we recurse down
+     * visibility) can be found directly when the parent class is visible. In these cases we search down.<br>
+     * The descendants of the component are the range of its {@link ComponentNumbering} interval, the descendants of a
+     * component that is not class-ish are skipped by jumping to the end of its interval.
      *
      * @param component the component whose children are searched
      * @param value     the value we are looking for
-     * @return the inner classes, interfaces or enumeration
+     * @return the inner classes, interfaces or enumeration in pre-order
      */
     private List<Component> searchForInnerClass(Component component, String value) {
         requireNonNull(component, "NULL is not permitted as value for parameter 'component'.");
@@ -274,16 +278,21 @@ public class JavaParsingContext extends ParsingContextBase {
         // from where we are looking into the outer class
 
         List<Component> resultList = new ArrayList<>();
-        component.getChildren()
-            .forEach(child -> {
-                if (isClassOrInterfaceOrEnumOrTypeParameter(child)) {
-                    // We are only interested in class-ish components and recurse there to the bottom of the tree
-                    if (child.getValue().equals(value)) {
-                        resultList.add(child);
-                    }
-                    resultList.addAll(searchForInnerClass(child, value));
+        ComponentNumbering numbering = ComponentNumbering.of(component);
+        int lastNumber = numbering.getLastDescendantNumber(component);
+        int number = numbering.getNumber(component) + 1;
+        while (number <= lastNumber) {
+            Component descendant = numbering.getComponent(number);
+            if (isClassOrInterfaceOrEnumOrTypeParameter(descendant)) {
+                if (descendant.getValue().equals(value)) {
+                    resultList.add(descendant);
                 }
-            });
+                number++;
+            } else {
+                // We are only interested in class-ish components and the ones below them
+                number = numbering.getLastDescendantNumber(descendant) + 1;
+            }
+        }
         return resultList;
     }
 
@@ -15,19 +15,20 @@
  */
 package de.marabs.analyse.perser.java;
 
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.common.library.Library;
 import de.marabs.analyse.parser.generated.java.JavaLexer;
 import de.marabs.analyse.parser.generated.java.JavaParser;
-import de.marabs.analyse.perser.common.LoggingErrorListener;
+import de.marabs.analyse.perser.common.CharStreamLoader;
+import de.marabs.analyse.perser.common.ListenerBase;
+import de.marabs.analyse.perser.common.ParserOptions;
 import de.marabs.analyse.perser.common.ParserResult;
 import de.marabs.analyse.perser.common.SourceParserBase;
 import de.marabs.analyse.perser.java.listener.JavaDeclarationListener;
 import de.marabs.analyse.perser.java.listener.JavaStructureListener;
 import lombok.Builder;
-import org.antlr.v4.runtime.BailErrorStrategy;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,10 +38,13 @@ import java.io.IOException;
 import java.util.List;
 
 import static de.marabs.analyse.common.constant.CommonConstants.SEPARATOR;
-import static java.util.Objects.requireNonNull;
+import static de.marabs.analyse.perser.SourceType.JAVA;
+import static java.util.Objects.*;
 
 /**
- * {@code JavaSourceParser} parses java source code files and execute the listeners.
+ * {@code JavaSourceParser} parses java source code files and execute the listeners.<br>
+ * Every parse worker reuses its own {@link JavaLexer} and {@link JavaParser} from the {@link JavaParserPool}, only the
+ * DFA cache of the generated classes is shared between the parse workers.
  *
  * @author Martin Absmeier
  */
@@ -48,56 +52,88 @@ public class JavaSourceParser extends SourceParserBase {
 
     private static final Logger LOGGER = LogManager.getLogger(JavaSourceParser.class);
 
-    protected final StopWatch parseSw;
+    private final JavaParserPool parserPool = new JavaParserPool();
+    private final AnalysisSession session;
 
     /**
-     * Creates a new instance of {@code JavaSourceParser} with the specified {@code libraries} class.
+     * Creates a new instance of {@code JavaSourceParser} with the specified {@code session} and {@code options}.<br>
+     * The files are merged into the {@link JavaApplication} of the session, the java libraries of the session are
+     * initialized before parsing.
      *
-     * @param libraries the {@link Library} to be initialized before parsing
+     * @param session the analysis session
+     * @param options the options of the parser, if NULL the {@link ParserOptions#defaults()} are used
      */
     @Builder
-    public JavaSourceParser(Library... libraries) {
-        super(JavaApplication.getInstance());
-        this.parseSw = new StopWatch();
+    public JavaSourceParser(AnalysisSession session, ParserOptions options) {
+        super(requireNonNull(session, "NULL is not permitted as a value for the 'session' parameter.").getJavaApplication(), options);
+        this.session = session;
         initDefaultListeners();
-        initLibraries(libraries);
+        initLibraries(session.getLibraries(JAVA));
     }
 
     @Override
-    public void parseFiles(List<File> files) {
+    public void parseFiles(Iterable<File> files) {
         requireNonNull(files, "NULL is not permitted as a value for the 'files' parameter.");
 
-        LOGGER.info("Start parsing [{}] files.", files.size());
+        LOGGER.info("Start parsing files.");
         LOGGER.info(SEPARATOR);
 
-        List<ParserResult> parserResults = executeParser(files);
+        List<ListenerBase> listenersToExecute = listeners;
         if (listeners.isEmpty()) {
             LOGGER.warn(SEPARATOR);
             LOGGER.warn("Executing DEFAULT listeners !");
             LOGGER.warn(SEPARATOR);
-            defaultListeners.forEach(listener -> executeListener(parserResults, listener));
-        } else {
-            listeners.forEach(listener -> executeListener(parserResults, listener));
+            listenersToExecute = defaultListeners;
         }
+
+        List<ParserResult> parserResults = null;
+        for (ListenerBase pass : fuseListeners(listenersToExecute)) {
+            if (options.isParseTimeListening() && pass.supportsParseTimeListening()) {
+                executeParseTimeListener(files, pass);
+            } else if (options.isStreaming()) {
+                executeStreaming(files, pass);
+            } else {
+                if (isNull(parserResults)) {
+                    parserResults = executeParser(files);
+                }
+                executeListener(parserResults, pass);
+            }
+        }
+
+        // All files are merged, the lists of the components are not growing anymore
+        application.getComponents().trimToSize();
     }
 
     @Override
-    protected ParserResult tryPredictionMode(File file, PredictionMode mode) throws IOException {
-        if (!parseSw.isStarted()) {
-            parseSw.start();
-        }
+    protected ParserResult tryPredictionMode(File file, PredictionMode mode, ListenerBase parseListener) throws IOException {
+        StopWatch parseSw = StopWatch.createStarted();
 
         String fileName = cleanupFileName(file.getAbsolutePath());
-        JavaParser parser = buildParser(file, mode);
+        JavaParser parser = parserPool.prepare(CharStreamLoader.load(file, options.getCharset()), mode, options.isDeclarationsOnly());
+        ParseTree parseTree;
+        try {
+            if (nonNull(parseListener)) {
+                parser.setBuildParseTree(false);
+                parser.addParseListener(parseListener);
+                parser.compilationUnit();
+                parseTree = null;
+            } else {
+                parseTree = parser.compilationUnit();
+            }
+        } finally {
+            // The idle parser of the worker thread must not keep the file or the listener (and its application) alive
+            parserPool.release();
+        }
         ParserResult parserResult = ParserResult.builder()
-            .parseTree(parser.compilationUnit())
+            .parseTree(parseTree)
             .sourceName(fileName)
+            .predictionMode(mode)
             .build();
 
         parseSw.stop();
+        parserResult.setParseDurationMillis(parseSw.getTime());
         LOGGER.info("Executed [{}] | Mode [{}] | Duration [{}] | File [{} of {}] -> {}",
-                    this.getClass().getSimpleName(), mode, parseSw, countFiles, numberOfFiles, fileName);
-        parseSw.reset();
+                    this.getClass().getSimpleName(), mode, parseSw, countFiles.incrementAndGet(), numberOfFiles, fileName);
 
         return parserResult;
     }
@@ -119,25 +155,9 @@ public class JavaSourceParser extends SourceParserBase {
 
     @Override
     protected void initDefaultListeners() {
-        String revisionId = determineRevisionId();
         defaultListeners.addAll(List.of(
-            new JavaDeclarationListener(revisionId),
-            new JavaStructureListener(revisionId)
+            new JavaDeclarationListener(session),
+            new JavaStructureListener(session)
         ));
     }
-
-    // #################################################################################################################
-    // Private methods
-
-    private JavaParser buildParser(File file, PredictionMode mode) throws IOException {
-        JavaLexer lexer = new JavaLexer(CharStreams.fromFileName(file.getAbsolutePath()));
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(new LoggingErrorListener());
-
-        JavaParser parser = new JavaParser(new CommonTokenStream(lexer));
-        parser.setErrorHandler(new BailErrorStrategy());
-        parser.getInterpreter().setPredictionMode(mode);
-
-        return parser;
-    }
 }
\ No newline at end of file
@@ -15,11 +15,14 @@
  */
 package de.marabs.analyse.perser.java.listener;
 
+import de.marabs.analyse.perser.AnalysisSession;
+import de.marabs.analyse.perser.common.ListenerBase;
 import de.marabs.analyse.perser.java.JavaParsingContext;
 
 /**
  * {@code JavaDeclarationListener} is responsible for detecting top level type declarations.<br>
  * A top level type declaration is one of <i>class, interface or enum</i>.<br>
+ * The listener only needs the tokens of the declarations, so it can be executed while parsing.<br>
  * <b>Attention:</b><br>
  * This is an empty listener because all the work in done by {@link JavaListenerBase}, the only reason why this
  * listener exits is that abstract classes cannot be instantiated, and we need to process all files before the
@@ -29,12 +32,40 @@ import de.marabs.analyse.perser.java.JavaParsingContext;
  */
 public class JavaDeclarationListener extends JavaListenerBase {
 
+    private final AnalysisSession session;
+
+    /**
+     * Creates a new instance of {@code JavaDeclarationListener} class.
+     *
+     * @param session the analysis session providing the revision id and the application
+     */
+    public JavaDeclarationListener(AnalysisSession session) {
+        this(session, false);
+    }
+
     /**
      * Creates a new instance of {@code JavaDeclarationListener} class.
      *
-     * @param revisionId revisionId the unique id of the source code
+     * @param session            the analysis session providing the revision id and the application
+     * @param parseTimeListening true if the events are received while parsing, false if a parse tree is walked
+     */
+    public JavaDeclarationListener(AnalysisSession session, boolean parseTimeListening) {
+        super(JavaParsingContext.builder().revisionId(session.getRevisionId()).build(), session.getJavaApplication(), parseTimeListening);
+        this.session = session;
+    }
+
+    @Override
+    public boolean supportsParseTimeListening() {
+        return true;
+    }
+
+    /**
+     * Creates a new listener that receives the events while parsing.
+     *
+     * @return the new listener
      */
-    public JavaDeclarationListener(String revisionId) {
-        super(JavaParsingContext.builder().revisionId(revisionId).build());
+    @Override
+    public ListenerBase createWorkerListener() {
+        return new JavaDeclarationListener(session, true);
     }
 }
\ No newline at end of file
@@ -17,22 +17,26 @@ package de.marabs.analyse.perser.java.listener;
 
 import de.marabs.analyse.common.component.Component;
 import de.marabs.analyse.common.component.ComponentAttribute;
+import de.marabs.analyse.common.component.ComponentAttributePool;
 import de.marabs.analyse.common.component.type.ComponentAttributeType;
 import de.marabs.analyse.common.component.type.ComponentType;
+import de.marabs.analyse.common.component.type.ModifierType;
 import de.marabs.analyse.common.exception.ParseException;
+import de.marabs.analyse.common.util.StringPool;
 import de.marabs.analyse.parser.generated.java.JavaParser;
 import de.marabs.analyse.parser.generated.java.JavaParserBaseListener;
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.common.ListenerBase;
 import de.marabs.analyse.perser.java.JavaApplication;
 import de.marabs.analyse.perser.java.JavaParsingContext;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static de.marabs.analyse.common.component.type.ComponentAttributeType.SOURCE_NAME;
@@ -42,9 +46,14 @@ import static de.marabs.analyse.common.constant.ParserConstants.*;
 import static de.marabs.analyse.parser.generated.java.JavaParser.*;
 import static java.io.File.separator;
 import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 
 /**
- * {@code JavaListenerBase} is the base class of all listener implementations and contains the common logic.
+ * {@code JavaListenerBase} is the base class of all listener implementations and contains the common logic.<br>
+ * The declarations are also detected if the events are received while parsing. In this case a rule context contains
+ * only the tokens visited so far and no child rule contexts, so a declaration is created when its identifier is
+ * visited instead of when its rule is entered, and its source position is set when the rule is exited. Packages,
+ * imports, modifiers and local classes are detected from their tokens, which are visited in both cases.
  *
  * @author Martin Absmeier
  */
@@ -62,14 +71,46 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
      */
     private final List<String> collectedModifiers = new ArrayList<>();
 
+    /**
+     * True if the events are received while parsing instead of walking a parse tree.
+     */
+    private final boolean parseTimeListening;
+
+    /**
+     * While parsing the text of a rule is only known from its visited tokens, these collect the text of the current
+     * modifier and of the name of the current class instance creation. NULL if no such rule is visited.
+     */
+    private StringBuilder modifierText;
+    private StringBuilder createdNameText;
+
+    /**
+     * The name of the current class instance creation and of the current import, they are visited before the rule
+     * that uses them is exited.
+     */
+    private String createdName;
+    private String importName;
+
     /**
      * Creates a new instance of {@code JavaListenerBase} class.
      *
      * @param parsingContext the structure tracker for java source code
+     * @param application    the application of the {@link AnalysisSession} the results are merged into
+     */
+    public JavaListenerBase(JavaParsingContext parsingContext, JavaApplication application) {
+        this(parsingContext, application, false);
+    }
+
+    /**
+     * Creates a new instance of {@code JavaListenerBase} class.
+     *
+     * @param parsingContext     the structure tracker for java source code
+     * @param application        the application of the {@link AnalysisSession} the results are merged into
+     * @param parseTimeListening true if the events are received while parsing, false if a parse tree is walked
      */
-    public JavaListenerBase(JavaParsingContext parsingContext) {
-        this.application = JavaApplication.getInstance();
+    public JavaListenerBase(JavaParsingContext parsingContext, JavaApplication application, boolean parseTimeListening) {
+        this.application = requireNonNull(application, "NULL is not permitted as a value for the 'application' parameter.");
         this.parsingContext = parsingContext;
+        this.parseTimeListening = parseTimeListening;
         // Initialize with libraries
         initParsingContext();
     }
@@ -106,25 +147,19 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
      *     <li>A compilation unit containing a declaration of the package is observable.</li>
      *     <li>A subpackage of the package is observable.</li>
      * </ul>
-     * The packages <b>java</b>, <b>java.lang</b>, and <b>java.io</b> are always observable.
+     * The packages <b>java</b>, <b>java.lang</b>, and <b>java.io</b> are always observable.<br>
+     * The qualified name of a package or an import is not a child of their rule context while parsing, so the package
+     * is declared and the name of the import is known when the qualified name is exited.
      *
      * @param ctx the parsing context
      */
     @Override
-    public void enterPackageDeclaration(PackageDeclarationContext ctx) {
-        Component currentComponent = parsingContext.getCurrentComponent();
-
-        List<TerminalNode> nodes = ctx.qualifiedName().IDENTIFIER();
-        for (TerminalNode node : nodes) {
-            String packageName = node.getText();
-            Component newPackage = createComponent(JAVA_PACKAGE, packageName);
-
-            currentComponent.addChild(newPackage);
-            currentComponent = newPackage;
+    public void exitQualifiedName(QualifiedNameContext ctx) {
+        if (ctx.getParent() instanceof PackageDeclarationContext) {
+            declarePackage(ctx.IDENTIFIER());
+        } else if (ctx.getParent() instanceof ImportDeclarationContext) {
+            importName = ctx.getText();
         }
-
-        parsingContext.hasPackage(true);
-        parsingContext.setCurrentComponent(currentComponent);
     }
 
     /**
@@ -133,38 +168,75 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
      * @param ctx the context
      */
     @Override
-    public void enterImportDeclaration(ImportDeclarationContext ctx) {
-        boolean isStatic = nonNull(ctx.STATIC());
-        boolean isMultipleImport = nonNull(ctx.MUL());
+    public void exitImportDeclaration(ImportDeclarationContext ctx) {
+        declareImport(ctx, importName);
+    }
 
-        ComponentType importType;
-        if (isStatic) {
-            importType = isMultipleImport ? JAVA_IMPORT_STATIC_ON_DEMAND : JAVA_IMPORT_STATIC;
-        } else {
-            importType = isMultipleImport ? JAVA_IMPORT_ON_DEMAND : JAVA_IMPORT;
+    // #################################################################################################################
+    // Collect modifiers to add them later to classes, interfaces and fields
+
+    @Override
+    public void enterClassOrInterfaceModifier(ClassOrInterfaceModifierContext ctx) {
+        if (ctx.getParent() instanceof TypeDeclarationContext) {
+            modifierText = new StringBuilder();
         }
+    }
 
-        String importName = ctx.qualifiedName().getText();
-        Component importComponent = createComponent(importType, importName);
-        parsingContext.addImport(importComponent);
+    @Override
+    public void exitClassOrInterfaceModifier(ClassOrInterfaceModifierContext ctx) {
+        if (ctx.getParent() instanceof TypeDeclarationContext) {
+            collectModifierText();
+        }
     }
 
-    // #################################################################################################################
-    // Collect modifiers to add them later to classes, interfaces and fields
+    @Override
+    public void enterModifier(ModifierContext ctx) {
+        if (isMemberModifier(ctx)) {
+            modifierText = new StringBuilder();
+        }
+    }
 
     @Override
-    public void enterTypeDeclaration(TypeDeclarationContext ctx) {
-        ctx.classOrInterfaceModifier().forEach(modifier -> collectedModifiers.add(modifier.getText()));
+    public void exitModifier(ModifierContext ctx) {
+        if (isMemberModifier(ctx)) {
+            collectModifierText();
+        }
     }
 
+    // #################################################################################################################
+    // Declarations
+
+    /**
+     * A walked rule context contains all its children, so a declaration is created when its rule is entered. This
+     * event is received before the rule specific one, so the declaration is the current component in there.
+     *
+     * @param ctx the context
+     */
     @Override
-    public void enterInterfaceBodyDeclaration(InterfaceBodyDeclarationContext ctx) {
-        ctx.modifier().forEach(modifier -> collectedModifiers.add(modifier.getText()));
+    public void enterEveryRule(ParserRuleContext ctx) {
+        if (!parseTimeListening) {
+            declare(ctx);
+        }
     }
 
+    /**
+     * The text of modifiers and of the names of class instance creations is collected from their tokens.<br>
+     * While parsing, the tokens of a rule are only known after they are visited. The declarations are created when
+     * their identifier is visited, that is before any of their members is entered.
+     *
+     * @param node the visited token
+     */
     @Override
-    public void enterClassBodyDeclaration(ClassBodyDeclarationContext ctx) {
-        ctx.modifier().forEach(modifier -> collectedModifiers.add(modifier.getText()));
+    public void visitTerminal(TerminalNode node) {
+        if (nonNull(modifierText)) {
+            modifierText.append(node.getText());
+        }
+        if (nonNull(createdNameText)) {
+            createdNameText.append(node.getText());
+        }
+        if (parseTimeListening && node.getSymbol().getType() == IDENTIFIER) {
+            declare(node.getParent());
+        }
     }
 
     // #################################################################################################################
@@ -178,7 +250,16 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
      * @param ctx the context
      */
     @Override
-    public void enterInterfaceDeclaration(InterfaceDeclarationContext ctx) {
+    public void exitInterfaceDeclaration(InterfaceDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the interface of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareInterface(InterfaceDeclarationContext ctx) {
         // Check for default package
         if (!parsingContext.hasPackage()) {
             createAndSetDefaultPackage();
@@ -210,11 +291,6 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         // addToCurrentComponentIfNotContained(createStaticInitializerMethod());
     }
 
-    @Override
-    public void exitInterfaceDeclaration(InterfaceDeclarationContext ctx) {
-        setParentIfAvailable();
-    }
-
     // #################################################################################################################
     // Interface methods
 
@@ -223,8 +299,12 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         throw new ParseException("Unexpected case - type parameters before interface method declaration");
     }
 
-    @Override
-    public void enterInterfaceMethodDeclaration(InterfaceMethodDeclarationContext ctx) {
+    /**
+     * Creates the interface method of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareInterfaceMethod(InterfaceMethodDeclarationContext ctx) {
         Component newMethod = createInterfaceMethod(ctx);
         // newMethod.setChecksum(calculateChecksum(ctx.getText()));
         addToCurrentComponentIfNotContained(newMethod);
@@ -251,14 +331,23 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
 
     @Override
     public void exitInterfaceMethodDeclaration(InterfaceMethodDeclarationContext ctx) {
-        setParentIfAvailable();
+        exitDeclaration(ctx);
     }
 
     // #################################################################################################################
     // Classes
 
     @Override
-    public void enterClassDeclaration(ClassDeclarationContext ctx) {
+    public void exitClassDeclaration(ClassDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the class of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareClass(ClassDeclarationContext ctx) {
         if (!parsingContext.hasPackage()) {
             createAndSetDefaultPackage();
         }
@@ -291,36 +380,37 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     }
 
     @Override
-    public void exitClassDeclaration(ClassDeclarationContext ctx) {
-        setParentIfAvailable();
+    public void enterCreatedName(CreatedNameContext ctx) {
+        if (ctx.getParent() instanceof CreatorContext) {
+            createdNameText = new StringBuilder();
+        }
+    }
+
+    @Override
+    public void exitCreatedName(CreatedNameContext ctx) {
+        if (ctx.getParent() instanceof CreatorContext) {
+            createdName = createdNameText.toString();
+            createdNameText = null;
+        }
     }
 
     /**
-     * A local class declaration specifies a new named class in a local context.
+     * A local class declaration specifies a new named class in a local context.<br>
+     * The rest of the class instance creation is the first rule known to belong to a local class, we cannot create a
+     * new inner class with the array construct.
      *
      * @param ctx the context
      */
     @Override
-    public void enterCreator(CreatorContext ctx) {
-        if (nonNull(ctx.classCreatorRest())) {
-            String className = ctx.createdName().getText();
-            // Component newClass = createComponentForClassInstanceCreationExpression(ctx);
-
-            Component newClass = Component.builder().type(JAVA_CLASS).value(className).build();
-            newClass.addAttribute(createAttribute(JAVA_LOCAL_CLASS, className));
-
-            addToCurrentComponentIfNotContained(newClass);
-            parsingContext.setCurrentComponent(newClass);
-
-            // addToCurrentComponentIfNotContained(createInstanceInitializerMethod());
-            // addToCurrentComponentIfNotContained(createStaticInitializerMethod());
+    public void enterClassCreatorRest(ClassCreatorRestContext ctx) {
+        if (ctx.getParent() instanceof CreatorContext) {
+            declareLocalClass(createdName);
         }
-        // We cannot create a new inner class with the array construct so skipping this here
     }
 
     @Override
-    public void exitCreator(CreatorContext ctx) {
-        if (nonNull(ctx.classCreatorRest())) {
+    public void exitClassCreatorRest(ClassCreatorRestContext ctx) {
+        if (ctx.getParent() instanceof CreatorContext) {
             setParentIfAvailable();
         }
     }
@@ -329,7 +419,16 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     // Constructor
 
     @Override
-    public void enterConstructorDeclaration(ConstructorDeclarationContext ctx) {
+    public void exitConstructorDeclaration(ConstructorDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the constructor of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareConstructor(ConstructorDeclarationContext ctx) {
         Component newConstructor = createConstructor(ctx);
         addSourcePositionToComponentIfNotContained(newConstructor, ctx);
         // newConstructor.setChecksum(calculateChecksum(ctx.getText()));
@@ -341,16 +440,20 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         parsingContext.setCurrentComponent(newConstructor);
     }
 
-    @Override
-    public void exitConstructorDeclaration(ConstructorDeclarationContext ctx) {
-        setParentIfAvailable();
-    }
-
     // #################################################################################################################
     // Class methods
 
     @Override
-    public void enterMethodDeclaration(MethodDeclarationContext ctx) {
+    public void exitMethodDeclaration(MethodDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the method of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareMethod(MethodDeclarationContext ctx) {
         Component newMethod = createMethod(ctx);
         // newMethod.setChecksum(calculateChecksum(ctx.getText()));
         addToCurrentComponentIfNotContained(newMethod);
@@ -367,16 +470,20 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         parsingContext.setCurrentComponent(newMethod);
     }
 
-    @Override
-    public void exitMethodDeclaration(MethodDeclarationContext ctx) {
-        setParentIfAvailable();
-    }
-
     // #################################################################################################################
     // Annotations
 
     @Override
-    public void enterAnnotationTypeDeclaration(AnnotationTypeDeclarationContext ctx) {
+    public void exitAnnotationTypeDeclaration(AnnotationTypeDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the annotation type of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareAnnotationType(AnnotationTypeDeclarationContext ctx) {
         String annotationName = ctx.IDENTIFIER().getText();
 
         Component newAnnotation = createComponent(JAVA_ANNOTATION, annotationName);
@@ -394,16 +501,20 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         // addToCurrentComponentIfNotContained(createStaticInitializerMethod());
     }
 
-    @Override
-    public void exitAnnotationTypeDeclaration(AnnotationTypeDeclarationContext ctx) {
-        setParentIfAvailable();
-    }
-
     // #################################################################################################################
     // Enumerations
 
     @Override
-    public void enterEnumDeclaration(EnumDeclarationContext ctx) {
+    public void exitEnumDeclaration(EnumDeclarationContext ctx) {
+        exitDeclaration(ctx);
+    }
+
+    /**
+     * Creates the enumeration of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareEnum(EnumDeclarationContext ctx) {
         String enumName = ctx.IDENTIFIER().getText();
 
         Component newEnum = createComponent(JAVA_ENUM, enumName);
@@ -425,16 +536,15 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         // addToCurrentComponentIfNotContained(createStaticInitializerMethod());
     }
 
-    @Override
-    public void exitEnumDeclaration(EnumDeclarationContext ctx) {
-        setParentIfAvailable();
-    }
-
     // #################################################################################################################
     // Enumeration constants
 
-    @Override
-    public void enterEnumConstant(EnumConstantContext ctx) {
+    /**
+     * Creates the enumeration constant of the specified {@code ctx} and makes it the current component.
+     *
+     * @param ctx the context
+     */
+    protected void declareEnumConstant(EnumConstantContext ctx) {
         String constantName = ctx.IDENTIFIER().getText();
         Component enumConstant = createComponent(JAVA_ENUM_CONSTANT, constantName);
 
@@ -500,6 +610,10 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
         parsingContext.reset();
         initParsingContext();
         collectedModifiers.clear();
+        modifierText = null;
+        createdNameText = null;
+        createdName = null;
+        importName = null;
     }
 
     /**
@@ -516,25 +630,28 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     // Convenience methods for all listeners
 
     /**
-     * Creates a {@link Component} specified by {@code cmpType} and {@code cmpValue}.
+     * Creates a {@link Component} specified by {@code cmpType} and {@code cmpValue}.<br>
+     * The value is interned in the {@link StringPool} of the application.
      *
      * @param cmpType  the type of the node
      * @param cmpValue the value of the node
      * @return the {@code ComponentNode}
      */
     protected Component createComponent(ComponentType cmpType, String cmpValue) {
-        return Component.builder().type(cmpType).value(cmpValue).build();
+        return Component.builder().type(cmpType).value(application.getStringPool().intern(cmpValue)).build();
     }
 
     /**
-     * Creates a {@link ComponentAttribute} specified by {@code attType} and {@code attValue}.
+     * Creates a {@link ComponentAttribute} specified by {@code attType} and {@code attValue}.<br>
+     * Equal attributes (e.g. the source name of all components of a file) are one instance of the
+     * {@link ComponentAttributePool} of the application, so the attribute can not be modified.
      *
      * @param attType  the type
      * @param attValue the value
      * @return the {@code ComponentAttribute}
      */
     protected ComponentAttribute createAttribute(ComponentAttributeType attType, String attValue) {
-        return ComponentAttribute.builder().type(attType).value(attValue).build();
+        return application.getAttributePool().intern(attType, attValue);
     }
 
     /**
@@ -548,31 +665,19 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     }
 
     /**
-     * Add the source code position to the specified {@code component} as {@link ComponentAttribute} if not contained.
+     * Set the source code position of the specified {@code component} if it is not known yet.<br>
+     * While parsing the position is only known when the rule is exited, before that nothing is set. The position is not
+     * part of {@link Component#getAttributes()}, it is returned by {@link Component#getAllAttributes()}.
      *
      * @param component the component
      * @param ctx       the context
      */
     protected void addSourcePositionToComponentIfNotContained(Component component, ParserRuleContext ctx) {
-        Token start = ctx.getStart();
-        String startLine = String.valueOf(start.getLine());
-        String startColumn = String.valueOf(start.getCharPositionInLine());
-        Token stop = ctx.getStop();
-        String stopLine = String.valueOf(stop.getLine());
-        String stopColumn = String.valueOf(stop.getCharPositionInLine());
-
-        List<ComponentAttribute> attributes = Arrays.asList(
-            createAttribute(START_LINE, startLine),
-            createAttribute(START_COLUMN, startColumn),
-            createAttribute(STOP_LINE, stopLine),
-            createAttribute(STOP_COLUMN, stopColumn)
-        );
-
-        attributes.forEach(attribute -> {
-            if (!component.getAttributes().contains(attribute)) {
-                component.addAttribute(attribute);
-            }
-        });
+        if (!component.hasSourcePosition() && nonNull(ctx.getStop())) {
+            Token start = ctx.getStart();
+            Token stop = ctx.getStop();
+            component.setSourcePosition(start.getLine(), start.getCharPositionInLine(), stop.getLine(), stop.getCharPositionInLine());
+        }
     }
 
     /**
@@ -587,7 +692,9 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     /**
      * Add a {@link ComponentAttribute} of type {@link ComponentAttributeType#JAVA_ANNOTATED} or {@link ComponentAttributeType#JAVA_MODIFIER}
      * to the component specified by {@code modifier}.<br>
-     * If the {@code modifier} string contains an @ an {@link ComponentAttributeType#JAVA_ANNOTATED} attribute is added.
+     * If the {@code modifier} string contains an @ an {@link ComponentAttributeType#JAVA_ANNOTATED} attribute is added,
+     * the keywords of {@link ModifierType} are added to the modifier bitset of the component. The bitset is not part of
+     * {@link Component#getAttributes()}, it is returned by {@link Component#getAllAttributes()}.
      *
      * @param component the component
      * @param modifier  the modifier
@@ -595,6 +702,12 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
     protected void addModifierToComponent(Component component, String modifier) {
         if (modifier.contains("@")) {
             component.addAttribute(createAttribute(JAVA_ANNOTATED, modifier));
+            return;
+        }
+
+        ModifierType modifierType = ModifierType.findByKeyword(modifier);
+        if (nonNull(modifierType)) {
+            component.addModifier(modifierType);
         } else {
             component.addAttribute(createAttribute(JAVA_MODIFIER, modifier));
         }
@@ -670,6 +783,89 @@ public abstract class JavaListenerBase extends JavaParserBaseListener implements
 
     // #################################################################################################################
 
+    private void declarePackage(List<TerminalNode> nodes) {
+        Component currentComponent = parsingContext.getCurrentComponent();
+
+        for (TerminalNode node : nodes) {
+            String packageName = node.getText();
+            Component newPackage = createComponent(JAVA_PACKAGE, packageName);
+
+            currentComponent.addChild(newPackage);
+            currentComponent = newPackage;
+        }
+
+        parsingContext.hasPackage(true);
+        parsingContext.setCurrentComponent(currentComponent);
+    }
+
+    private void declareImport(ImportDeclarationContext ctx, String importName) {
+        boolean isStatic = nonNull(ctx.STATIC());
+        boolean isMultipleImport = nonNull(ctx.MUL());
+
+        ComponentType importType;
+        if (isStatic) {
+            importType = isMultipleImport ? JAVA_IMPORT_STATIC_ON_DEMAND : JAVA_IMPORT_STATIC;
+        } else {
+            importType = isMultipleImport ? JAVA_IMPORT_ON_DEMAND : JAVA_IMPORT;
+        }
+
+        Component importComponent = createComponent(importType, importName);
+        parsingContext.addImport(importComponent);
+    }
+
+    private void declareLocalClass(String className) {
+        // Component newClass = createComponentForClassInstanceCreationExpression(ctx);
+
+        Component newClass = createComponent(JAVA_CLASS, className);
+        newClass.addAttribute(createAttribute(JAVA_LOCAL_CLASS, className));
+
+        addToCurrentComponentIfNotContained(newClass);
+        parsingContext.setCurrentComponent(newClass);
+
+        // addToCurrentComponentIfNotContained(createInstanceInitializerMethod());
+        // addToCurrentComponentIfNotContained(createStaticInitializerMethod());
+    }
+
+    /**
+     * Creates the declaration of the specified {@code ctx}, nothing is created if it is no declaration.
+     *
+     * @param ctx the context that is entered or the parent of a visited identifier
+     */
+    private void declare(ParseTree ctx) {
+        if (ctx instanceof ClassDeclarationContext) {
+            declareClass((ClassDeclarationContext) ctx);
+        } else if (ctx instanceof InterfaceDeclarationContext) {
+            declareInterface((InterfaceDeclarationContext) ctx);
+        } else if (ctx instanceof InterfaceMethodDeclarationContext) {
+            declareInterfaceMethod((InterfaceMethodDeclarationContext) ctx);
+        } else if (ctx instanceof MethodDeclarationContext) {
+            declareMethod((MethodDeclarationContext) ctx);
+        } else if (ctx instanceof ConstructorDeclarationContext) {
+            declareConstructor((ConstructorDeclarationContext) ctx);
+        } else if (ctx instanceof AnnotationTypeDeclarationContext) {
+            declareAnnotationType((AnnotationTypeDeclarationContext) ctx);
+        } else if (ctx instanceof EnumDeclarationContext) {
+            declareEnum((EnumDeclarationContext) ctx);
+        } else if (ctx instanceof EnumConstantContext) {
+            declareEnumConstant((EnumConstantContext) ctx);
+        }
+    }
+
+    private void exitDeclaration(ParserRuleContext ctx) {
+        // While parsing the stop token of a declaration is only known when it is exited
+        addSourcePositionToComponentIfNotContained(parsingContext.getCurrentComponent(), ctx);
+        setParentIfAvailable();
+    }
+
+    private boolean isMemberModifier(ModifierContext ctx) {
+        return ctx.getParent() instanceof ClassBodyDeclarationContext || ctx.getParent() instanceof InterfaceBodyDeclarationContext;
+    }
+
+    private void collectModifierText() {
+        collectedModifiers.add(modifierText.toString());
+        modifierText = null;
+    }
+
     private boolean isPublicOrProtectedOrPrivate(String modifier) {
         return modifier.equals(JAVA_MODIFIER_PUBLIC) || modifier.equals(JAVA_MODIFIER_PROTECTED) || modifier.equals(JAVA_MODIFIER_PRIVATE);
     }
@@ -16,6 +16,7 @@
 package de.marabs.analyse.perser.java.listener;
 
 import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.java.JavaParsingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -46,15 +47,26 @@ public class JavaStructureListener extends JavaListenerBase {
     /**
      * Creates a new instance of {@code JavaStructureListener} class.
      *
-     * @param revisionId the unique id of the source code
+     * @param session the analysis session providing the revision id and the application
      */
-    public JavaStructureListener(String revisionId) {
-        super(new JavaParsingContext(revisionId));
+    public JavaStructureListener(AnalysisSession session) {
+        super(new JavaParsingContext(session.getRevisionId()), session.getJavaApplication());
+    }
+
+    /**
+     * The structure listener resolves packages, imports and super types against the declarations of all files.
+     *
+     * @return always true
+     */
+    @Override
+    public boolean requiresCompletedDeclarationPass() {
+        return true;
     }
 
     @Override
-    public void enterPackageDeclaration(PackageDeclarationContext ctx) {
-        super.enterPackageDeclaration(ctx);
+    public void exitPackageDeclaration(PackageDeclarationContext ctx) {
+        // The package is declared when its qualified name is exited
+        super.exitPackageDeclaration(ctx);
 
         String uniqueCoordinate = parsingContext.getCurrentComponent().getUniqueCoordinate();
         Component component = application.findComponentByUniqueCoordinate(uniqueCoordinate);
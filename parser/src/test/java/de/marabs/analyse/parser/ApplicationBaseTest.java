@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.ComponentAttribute;
+import de.marabs.analyse.common.component.type.ModifierType;
+import de.marabs.analyse.perser.common.ApplicationBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_ANNOTATED;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_MODIFIER;
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_TYPE;
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link ApplicationBase} class.
+ *
+ * @author Martin Absmeier
+ */
+public class ApplicationBaseTest {
+
+    private ApplicationBase application;
+
+    @Before
+    public void setUp() {
+        application = createApplication();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void findComponentByUniqueCoordinateNull() {
+        application.findComponentByUniqueCoordinate(null);
+    }
+
+    @Test
+    public void findComponentByUniqueCoordinate() {
+        application.mergeWithApplication(createFile("Foo", "a"));
+        application.mergeWithApplication(createFile("Bar", "b"));
+
+        Component foo = application.findComponentByUniqueCoordinate("de.test.Foo");
+        assertNotNull("We expect the class Foo.", foo);
+        assertEquals("We expect the coordinate of the class.", "de.test.Foo", foo.getUniqueCoordinate());
+        assertSame("We expect the instance of the tree.", foo.getParent(), application.findComponentByUniqueCoordinate("de.test"));
+        assertNotNull("We expect the method b of the class Bar.", application.findComponentByUniqueCoordinate("de.test.Bar.b"));
+        assertNull("We expect no method b of the class Foo.", application.findComponentByUniqueCoordinate("de.test.Foo.b"));
+        assertNull("We expect no component.", application.findComponentByUniqueCoordinate("de.unknown"));
+    }
+
+    @Test
+    public void findComponentByUniqueCoordinateReturnsFirstOverload() {
+        Component file = createFile("Foo", "a");
+        Component overload = Component.builder().type(JAVA_METHOD).value("a").build();
+        file.getChildren().get(0).getChildren().get(0).getChildren().get(0).addChild(overload);
+        application.mergeWithApplication(file);
+
+        Component method = application.findComponentByUniqueCoordinate("de.test.Foo.a");
+        assertNotSame("We expect the first method of the overloads.", overload, method);
+        assertSame("We expect a method of the class Foo.", method.getParent(), overload.getParent());
+    }
+
+    @Test
+    public void mergeWithApplicationMatchesSingleOverloadWithTheFirst() {
+        Component file = createFile("Foo", "a");
+        Component clazz = file.getChildren().get(0).getChildren().get(0).getChildren().get(0);
+        clazz.addChild(Component.builder().type(JAVA_METHOD).value("a").build());
+        application.mergeWithApplication(file);
+
+        Component single = createFile("Foo", "a");
+        Component method = single.getChildren().get(0).getChildren().get(0).getChildren().get(0).getChildren().get(0);
+        method.addAttribute(new ComponentAttribute(JAVA_ANNOTATED, "Override"));
+        application.mergeWithApplication(single);
+
+        List<Component> overloads = application.findComponentByUniqueCoordinate("de.test.Foo").getChildren();
+        assertEquals("We expect both overloads.", 2, overloads.size());
+        assertTrue("We expect the single method is merged with the first overload.", overloads.get(0).hasAttributes());
+        assertFalse("We expect the second overload is unchanged.", overloads.get(1).hasAttributes());
+    }
+
+    @Test
+    public void stringPoolIsOwnedByTheApplication() {
+        application.getStringPool().intern(new String("Foo"));
+
+        assertNotSame("We expect a pool per application.", application.getStringPool(), createApplication().getStringPool());
+        assertEquals("We expect the value is interned in the pool of the application.", 1, application.getStringPool().size());
+    }
+
+    @Test
+    public void addLibrarySharesAttributeValues() {
+        Component library = createFile("Foo", "bar");
+        Component clazz = library.getChildren().get(0).getChildren().get(0).getChildren().get(0);
+        clazz.addAttribute(new ComponentAttribute(JAVA_TYPE, new String("java.lang.String".toCharArray())));
+        clazz.addAttribute(ComponentAttribute.modifier(ModifierType.PUBLIC));
+        String pooled = application.getStringPool().intern("java.lang.String");
+
+        application.addLibrary(library);
+        assertSame("We expect the value of the pool.", pooled, clazz.findFirstAttributeByType(JAVA_TYPE).getValue());
+        assertSame("We expect the shared modifier is kept.", ComponentAttribute.modifier(ModifierType.PUBLIC), clazz.findFirstAttributeByType(JAVA_MODIFIER));
+    }
+
+    @Test
+    public void mergeWithApplicationMatchesOverloadsInOrder() {
+        application.mergeWithApplication(createFile("Foo", "a"));
+        application.mergeWithApplication(createFile("Bar", "b"));
+        for (int i = 0; i < 2; i++) {
+            Component file = createFile("Foo", "a");
+            Component clazz = file.getChildren().get(0).getChildren().get(0).getChildren().get(0);
+            clazz.addChild(Component.builder().type(JAVA_METHOD).value("a").build());
+            clazz.addChild(Component.builder().type(JAVA_FIELD).value("a").build());
+            application.mergeWithApplication(file);
+        }
+
+        Component foo = application.findComponentByUniqueCoordinate("de.test.Foo");
+        assertEquals("We expect both overloads and the field.", 3, foo.getChildren().size());
+        assertEquals("We expect both overloads.", 2, foo.findChildrenByType(JAVA_METHOD).size());
+        assertEquals("We expect both classes in the package.", 2, foo.getParent().getChildren().size());
+    }
+
+    // #################################################################################################################
+    private Component createFile(String className, String methodName) {
+        Component file = Component.builder().type(ROOT).value(ROOT.name()).build();
+        Component de = Component.builder().type(JAVA_PACKAGE).value("de").build();
+        Component test = Component.builder().type(JAVA_PACKAGE).value("test").build();
+        Component clazz = Component.builder().type(JAVA_CLASS).value(className).build();
+        clazz.addChild(Component.builder().type(JAVA_METHOD).value(methodName).build());
+        test.addChild(clazz);
+        de.addChild(test);
+        file.addChild(de);
+        return file;
+    }
+
+    private ApplicationBase createApplication() {
+        return new ApplicationBase() {
+            @Override
+            public void updateComponent(Component source, Component target) {
+                if (source.equals(target) && source.hasAttributes()) {
+                    target.addAttributesIfNotContained(source.getAttributes());
+                }
+            }
+
+            @Override
+            public boolean isComponentVisible(Component component, Component visibleFrom, boolean withinInheritance) {
+                return true;
+            }
+        };
+    }
+}
\ No newline at end of file
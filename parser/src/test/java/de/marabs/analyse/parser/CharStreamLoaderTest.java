@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.perser.common.CharStreamLoader;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit test cases of {@link CharStreamLoader} class.
+ *
+ * @author Martin Absmeier
+ */
+public class CharStreamLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(expected = NullPointerException.class)
+    public void loadWithFileNull() throws IOException {
+        CharStreamLoader.load(null, UTF_8);
+    }
+
+    @Test
+    public void loadAscii() throws IOException {
+        assertContent("class A { int a = 1; }", UTF_8);
+    }
+
+    @Test
+    public void loadUtf8() throws IOException {
+        assertContent("class Ä { String s = \"€ 😀\"; }", UTF_8);
+    }
+
+    @Test
+    public void loadLatin1() throws IOException {
+        assertContent("class Ä { String s = \"äöü ß\"; }", ISO_8859_1);
+    }
+
+    @Test
+    public void loadEmptyFile() throws IOException {
+        assertContent("", UTF_8);
+    }
+
+    // #################################################################################################################
+    private void assertContent(String content, Charset charset) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(charset));
+
+        CharStream stream = CharStreamLoader.load(file, charset);
+        assertEquals("We expect the number of code points.", content.codePointCount(0, content.length()), stream.size());
+        assertEquals("We expect the same content.", content, stream.getText(Interval.of(0, stream.size() - 1)));
+        assertEquals("We expect the absolute path as source name.", file.getAbsolutePath(), stream.getSourceName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.parser.generated.java.JavaLexer;
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.parser.generated.java.JavaParserBaseListener;
+import de.marabs.analyse.perser.common.CompositeListener;
+import de.marabs.analyse.perser.common.ListenerBase;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.marabs.analyse.common.component.type.ComponentType.ROOT;
+import static org.antlr.v4.runtime.tree.ParseTreeWalker.DEFAULT;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link CompositeListener} class.
+ *
+ * @author Martin Absmeier
+ */
+public class CompositeListenerTest {
+
+    private static final String SOURCE_CODE = "package test; class A { void a() {} class B { void b() {} void c() {} } }";
+
+    private ParseTree parseTree;
+
+    @Before
+    public void setUp() {
+        JavaParser parser = new JavaParser(new CommonTokenStream(new JavaLexer(CharStreams.fromString(SOURCE_CODE))));
+        parseTree = parser.compilationUnit();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithListenersNull() {
+        new CompositeListener(null);
+    }
+
+    @Test
+    public void walkDispatchesEveryEventToAllListeners() {
+        CountingListener expected = new CountingListener();
+        DEFAULT.walk(expected, parseTree);
+
+        CountingListener first = new CountingListener();
+        CountingListener second = new CountingListener();
+        DEFAULT.walk(new CompositeListener(List.of(first, second)), parseTree);
+
+        assertEquals("We expect 2 classes.", 2, expected.classes);
+        assertEquals("We expect 3 methods.", 3, expected.methods);
+        assertEquals("We expect the same events for the first listener.", expected.toString(), first.toString());
+        assertEquals("We expect the same events for the second listener.", expected.toString(), second.toString());
+    }
+
+    @Test
+    public void requiresCompletedDeclarationPass() {
+        CountingListener declaration = new CountingListener();
+        CountingListener structure = new CountingListener();
+        structure.requiresDeclarations = true;
+
+        assertFalse("We expect no dependency.", new CompositeListener(List.of(declaration)).requiresCompletedDeclarationPass());
+        assertTrue("We expect a dependency.", new CompositeListener(List.of(declaration, structure)).requiresCompletedDeclarationPass());
+    }
+
+    @Test
+    public void getResultsReturnsTheResultsOfAllListeners() {
+        CountingListener first = new CountingListener();
+        CountingListener second = new CountingListener();
+        CompositeListener composite = new CompositeListener(List.of(first, second));
+
+        assertSame("We expect the result of the first listener.", first.result, composite.getResult());
+        assertEquals("We expect the results in listener order.", List.of(first.result, second.result), composite.getResults());
+    }
+
+    // #################################################################################################################
+    private static class CountingListener extends JavaParserBaseListener implements ListenerBase {
+        private int rules;
+        private int terminals;
+        private int classes;
+        private int methods;
+        private boolean requiresDeclarations;
+        private final Component result = Component.builder().type(ROOT).value(ROOT.name()).build();
+
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            rules++;
+        }
+
+        @Override
+        public void visitTerminal(TerminalNode node) {
+            terminals++;
+        }
+
+        @Override
+        public void exitClassDeclaration(JavaParser.ClassDeclarationContext ctx) {
+            classes++;
+        }
+
+        @Override
+        public void enterMethodDeclaration(JavaParser.MethodDeclarationContext ctx) {
+            methods++;
+        }
+
+        @Override
+        public Component getResult() {
+            return result;
+        }
+
+        @Override
+        public void setSourceName(String sourceName) {
+            // Not required for counting
+        }
+
+        @Override
+        public void reset() {
+            rules = terminals = classes = methods = 0;
+        }
+
+        @Override
+        public boolean requiresCompletedDeclarationPass() {
+            return requiresDeclarations;
+        }
+
+        @Override
+        public String toString() {
+            return rules + "/" + terminals + "/" + classes + "/" + methods;
+        }
+    }
+}
\ No newline at end of file
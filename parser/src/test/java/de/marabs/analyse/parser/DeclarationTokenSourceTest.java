@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.parser.generated.java.JavaLexer;
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.perser.common.CharStreamLoader;
+import de.marabs.analyse.perser.java.DeclarationTokenSource;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static java.io.File.separator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * JUnit test cases of {@link DeclarationTokenSource} class.
+ *
+ * @author Martin Absmeier
+ */
+public class DeclarationTokenSourceTest {
+
+    @Test(expected = NullPointerException.class)
+    public void createWithSourceNull() {
+        new DeclarationTokenSource(null);
+    }
+
+    @Test
+    public void elideMethodConstructorAndInitializerBodies() {
+        String source = "class A { int a = new Object() { int b() { return 1; } }.hashCode(); static { a = 2; } { a = 3; } "
+            + "A() throws java.io.IOException { a = 4; } int[] c() [] { if (a > 0) { return null; } return null; } }";
+
+        assertEquals("We expect elided bodies.",
+                     "classA{inta=newObject(){intb(){return1;}}.hashCode();static{}{}A()throwsjava.io.IOException{}int[]c()[]{}}<EOF>",
+                     parse(CharStreams.fromString(source)));
+    }
+
+    @Test
+    public void elideBodiesOfEnumConstants() {
+        String source = "enum E { X(1) { void f() { g(); } }, Y(2); E(int i) { } void g() { h(); } }";
+
+        assertEquals("We expect elided bodies.", "enumE{X(1){voidf(){}},Y(2);E(inti){}voidg(){}}<EOF>", parse(CharStreams.fromString(source)));
+    }
+
+    @Test
+    public void keepAnnotationDefaultsAndInterfaceMethods() {
+        String source = "interface I { default void a() { b(); } int c(); @interface N { String[] v() default { \"x\" }; } }";
+
+        assertEquals("We expect elided bodies.", "interfaceI{defaultvoida(){}intc();@interfaceN{String[]v()default{\"x\"};}}<EOF>",
+                     parse(CharStreams.fromString(source)));
+    }
+
+    @Test
+    public void parseTestResources() throws IOException {
+        String rootPath = USER_DIR.concat(separator)
+            .concat("src").concat(separator)
+            .concat("test").concat(separator)
+            .concat("resources").concat(separator)
+            .concat("java").concat(separator);
+        for (File file : FileUtils.findFiles(new File(rootPath), "java")) {
+            assertNotNull("We expect a parse tree.", parse(CharStreamLoader.load(file, UTF_8)));
+        }
+    }
+
+    // #################################################################################################################
+    private String parse(CharStream input) {
+        JavaParser parser = new JavaParser(new CommonTokenStream(new DeclarationTokenSource(new JavaLexer(input))));
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        return parser.compilationUnit().getText();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.perser.DirectoryScanner;
+import de.marabs.analyse.perser.SourceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static de.marabs.analyse.perser.SourceType.JAVA;
+import static de.marabs.analyse.perser.SourceType.SCALA;
+import static java.io.File.separator;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link DirectoryScanner} class.
+ *
+ * @author Martin Absmeier
+ */
+public class DirectoryScannerTest {
+
+    private final String rootPath = USER_DIR.concat(separator)
+        .concat("src").concat(separator)
+        .concat("test").concat(separator)
+        .concat("resources").concat(separator)
+        .concat("java").concat(separator);
+    private File directory;
+
+    @Before
+    public void setUp() {
+        directory = new File(rootPath);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createWithParallelismZero() {
+        DirectoryScanner.builder().build();
+    }
+
+    @Test
+    public void scanFindsSameFilesAsFindFiles() {
+        Map<SourceType, List<File>> files = DirectoryScanner.builder()
+            .parallelism(4)
+            .build()
+            .scan(directory, EnumSet.of(JAVA, SCALA));
+
+        Set<File> expected = new HashSet<>(FileUtils.findFiles(directory, "java"));
+        assertEquals("We expect the same files.", expected, new HashSet<>(files.get(JAVA)));
+        assertEquals("We expect every file once.", expected.size(), files.get(JAVA).size());
+        assertTrue("We expect no scala files.", files.get(SCALA).isEmpty());
+    }
+
+    @Test
+    public void scanSkipsIgnoredDirectories() {
+        List<File> files = DirectoryScanner.builder()
+            .ignorePatterns(List.of("inheritance/", "jdk"))
+            .parallelism(2)
+            .build()
+            .scan(directory, EnumSet.of(JAVA))
+            .get(JAVA);
+
+        assertFalse("We expect files.", files.isEmpty());
+        files.forEach(file -> {
+            assertFalse("We expect no file of an ignored directory.", file.getPath().contains(separator + "inheritance" + separator));
+            assertFalse("We expect no file of an ignored directory.", file.getPath().contains(separator + "jdk" + separator));
+        });
+    }
+
+    @Test
+    public void scanSortsFilesIndependentOfParallelism() {
+        List<File> sequential = DirectoryScanner.builder().parallelism(1).build().scan(directory, EnumSet.of(JAVA)).get(JAVA);
+        List<File> parallel = DirectoryScanner.builder().parallelism(4).build().scan(directory, EnumSet.of(JAVA)).get(JAVA);
+
+        assertFalse("We expect files.", sequential.isEmpty());
+        assertEquals("We expect the same files in the same order.", sequential, parallel);
+        for (int i = 1; i < parallel.size(); i++) {
+            assertTrue("We expect the files sorted by their path.", parallel.get(i - 1).compareTo(parallel.get(i)) < 0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.parser.generated.java.JavaParserBaseListener;
+import de.marabs.analyse.perser.java.JavaParserPool;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.antlr.v4.runtime.atn.PredictionMode.LL;
+import static org.antlr.v4.runtime.atn.PredictionMode.SLL;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link JavaParserPool} class.
+ *
+ * @author Martin Absmeier
+ */
+public class JavaParserPoolTest {
+
+    private JavaParserPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new JavaParserPool();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void prepareWithInputNull() {
+        pool.prepare(null, SLL);
+    }
+
+    @Test
+    public void prepareReusesParserOfThread() {
+        JavaParser first = pool.prepare(CharStreams.fromString("class A {}"), SLL);
+        JavaParser second = pool.prepare(CharStreams.fromString("class B {}"), LL);
+
+        assertSame("We expect the same parser.", first, second);
+        assertEquals("We expect the prediction mode of the last call.", LL, second.getInterpreter().getPredictionMode());
+    }
+
+    @Test
+    public void parseTreeSurvivesReuse() {
+        ParseTree first = pool.prepare(CharStreams.fromString("class A { int a; }"), SLL).compilationUnit();
+        ParseTree second = pool.prepare(CharStreams.fromString("interface B { void b(); }"), SLL).compilationUnit();
+
+        assertEquals("We expect the first source.", "classA{inta;}<EOF>", first.getText());
+        assertEquals("We expect the second source.", "interfaceB{voidb();}<EOF>", second.getText());
+    }
+
+    @Test
+    public void releaseDropsInputAndParseListeners() {
+        JavaParser parser = pool.prepare(CharStreams.fromString("class A { int a; }"), SLL);
+        parser.setBuildParseTree(false);
+        parser.addParseListener(new JavaParserBaseListener());
+        parser.compilationUnit();
+        pool.release();
+
+        assertTrue("We expect no parse listeners.", parser.getParseListeners().isEmpty());
+        assertEquals("We expect an empty input.", 0, parser.getInputStream().getTokenSource().getInputStream().size());
+    }
+
+    @Test
+    public void parseOnOtherThreadUsesOtherParser() throws InterruptedException {
+        JavaParser parser = pool.prepare(CharStreams.fromString("class A {}"), SLL);
+        JavaParser[] otherParser = new JavaParser[1];
+        Thread thread = new Thread(() -> otherParser[0] = pool.prepare(CharStreams.fromString("class B {}"), SLL));
+        thread.start();
+        thread.join();
+
+        assertNotNull("We expect a parser.", otherParser[0]);
+        assertNotSame("We expect another parser.", parser, otherParser[0]);
+    }
+}
\ No newline at end of file
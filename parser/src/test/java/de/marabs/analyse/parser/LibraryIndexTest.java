@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.perser.common.library.LibraryIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test cases of {@link LibraryIndex} class.
+ *
+ * @author Martin Absmeier
+ */
+public class LibraryIndexTest {
+
+    private Component library;
+    private Component firstOverload;
+
+    @Before
+    public void setUp() {
+        Component clazz = Component.builder().type(JAVA_CLASS).value("String").build();
+        firstOverload = Component.builder().type(JAVA_METHOD).value("valueOf").build();
+        clazz.addChild(firstOverload);
+        clazz.addChild(Component.builder().type(JAVA_METHOD).value("valueOf").build());
+        clazz.addChild(Component.builder().type(JAVA_METHOD).value("length").build());
+        Component lang = Component.builder().type(JAVA_PACKAGE).value("lang").build();
+        lang.addChild(clazz);
+        Component java = Component.builder().type(JAVA_PACKAGE).value("java").build();
+        java.addChild(lang);
+        library = Component.builder().type(ROOT).value(ROOT.name()).build();
+        library.addChild(java);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithLibraryNull() {
+        new LibraryIndex(null);
+    }
+
+    @Test
+    public void find() {
+        LibraryIndex index = new LibraryIndex(library);
+
+        assertEquals("We expect 5 unique coordinates.", 5, index.size());
+        assertSame("We expect the package.", library.getChildren().get(0), index.find("java"));
+        assertEquals("We expect the class.", "java.lang.String", index.find("java.lang.String").getUniqueCoordinate());
+        assertNotNull("We expect the method.", index.find("java.lang.String.length"));
+        assertNull("We expect no component.", index.find("java.lang.Integer"));
+        assertNull("We expect no component.", index.find(""));
+    }
+
+    @Test
+    public void findReturnsFirstOverload() {
+        assertSame("We expect the first method of the overloads.", firstOverload, new LibraryIndex(library).find("java.lang.String.valueOf"));
+    }
+}
\ No newline at end of file
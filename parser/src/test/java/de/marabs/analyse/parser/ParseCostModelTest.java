@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.perser.common.ParseCostModel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test cases of {@link ParseCostModel} class.
+ *
+ * @author Martin Absmeier
+ */
+public class ParseCostModelTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void estimateBySizeWithoutMeasurements() throws IOException {
+        ParseCostModel costModel = new ParseCostModel(null);
+
+        assertTrue("We expect the larger file to be more expensive.",
+                   costModel.estimateNanos(createFile(1000)) > costModel.estimateNanos(createFile(10)));
+    }
+
+    @Test
+    public void estimateInNanosBeforeAndAfterFirstMeasurement() throws IOException {
+        ParseCostModel costModel = new ParseCostModel(null);
+        File small = createFile(10);
+        File large = createFile(1000);
+        double snapshot = costModel.getNanosPerByte();
+
+        assertEquals("We expect the default parse time per byte.", 1000 * ParseCostModel.DEFAULT_NANOS_PER_BYTE, costModel.estimateNanos(large));
+        assertTrue("We expect the larger file to be more expensive.", costModel.estimateNanos(large) > costModel.estimateNanos(small));
+
+        File measured = createFile(100);
+        costModel.record(measured, 1_000_000);
+
+        assertEquals("We expect the measured parse time per byte.", 10_000_000, costModel.estimateNanos(large));
+        assertTrue("We expect the larger file to be more expensive.", costModel.estimateNanos(large) > costModel.estimateNanos(small));
+        assertTrue("We expect the measured and the estimated files to be comparable.",
+                   costModel.estimateNanos(large) > costModel.estimateNanos(measured));
+        assertEquals("We expect the snapshot to be unaffected by the measurement.",
+                     1000 * ParseCostModel.DEFAULT_NANOS_PER_BYTE, costModel.estimateNanos(large, snapshot));
+    }
+
+    @Test
+    public void estimateByMeasurement() throws IOException {
+        ParseCostModel costModel = new ParseCostModel(null);
+        File small = createFile(10);
+        File large = createFile(1000);
+        costModel.record(small, 5_000_000);
+        costModel.record(large, 1_000);
+
+        assertEquals("We expect the measured parse time.", 5_000_000, costModel.estimateNanos(small));
+        assertTrue("We expect the measurement to win over the size.", costModel.estimateNanos(small) > costModel.estimateNanos(large));
+    }
+
+    @Test
+    public void saveAndLoadHistory() throws IOException {
+        Path historyFile = folder.getRoot().toPath().resolve("parse-history.tsv");
+        File file = createFile(100);
+
+        ParseCostModel costModel = new ParseCostModel(historyFile);
+        costModel.record(file, 42_000);
+        costModel.save();
+
+        assertEquals("We expect the parse time of the previous run.", 42_000, new ParseCostModel(historyFile).estimateNanos(file));
+    }
+
+    // #################################################################################################################
+    private File createFile(int size) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+}
\ No newline at end of file
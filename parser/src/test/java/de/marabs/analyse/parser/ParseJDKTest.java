@@ -16,10 +16,13 @@
 package de.marabs.analyse.parser;
 
 import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.SourceParser;
 import de.marabs.analyse.perser.SourceType;
 import de.marabs.analyse.perser.common.library.Library;
 import de.marabs.analyse.perser.java.JavaApplication;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -35,6 +38,8 @@ import static org.junit.Assert.assertNotNull;
 
 public class ParseJDKTest {
 
+    private static final Logger LOGGER = LogManager.getLogger(ParseJDKTest.class);
+
     private final String rootPath = USER_HOME_DIR.concat(separator)
         .concat("develop").concat(separator)
         .concat("library").concat(separator)
@@ -52,19 +57,32 @@ public class ParseJDKTest {
 
     @Test
     public void testJavaSourceParser() {
+        long heapBefore = usedHeap();
+        AnalysisSession session = AnalysisSession.builder().revisionId(revisionId).libraries(getLibraries()).build();
         SourceParser parser = SourceParser.builder()
-            .libraries(getLibraries())
+            .session(session)
             .build();
         parser.parseDirectory(JAVA, directory);
 
-        JavaApplication application = JavaApplication.getInstance();
+        JavaApplication application = session.getJavaApplication();
         assertNotNull("We expect an instance.", application);
 
         Component components = application.getComponents();
         assertNotNull("We expect components.", components);
+
+        // The heap retained by the application tree, the parser caches (e.g. DFA) are included
+        LOGGER.info("Retained heap after parsing: {} MB", (usedHeap() - heapBefore) / (1024 * 1024));
     }
 
     // #################################################################################################################
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
     private Map<SourceType, Library[]> getLibraries() {
         return new HashMap<>();
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.parser.generated.java.JavaParserBaseListener;
+import de.marabs.analyse.perser.AnalysisSession;
+import de.marabs.analyse.perser.common.ListenerBase;
+import de.marabs.analyse.perser.common.ParserOptions;
+import de.marabs.analyse.perser.java.JavaSourceParser;
+import de.marabs.analyse.perser.java.listener.JavaDeclarationListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.marabs.analyse.common.component.type.ComponentType.ROOT;
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static java.io.File.separator;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test cases of the listeners executed while parsing.
+ *
+ * @author Martin Absmeier
+ */
+public class ParseTimeListenerTest {
+
+    private final String rootPath = USER_DIR.concat(separator)
+        .concat("src").concat(separator)
+        .concat("test").concat(separator)
+        .concat("resources").concat(separator)
+        .concat("java").concat(separator);
+    private List<File> files;
+
+    @Before
+    public void setUp() {
+        files = FileUtils.findFiles(new File(rootPath), "java");
+    }
+
+    @Test
+    public void parseTimeListenerReceivesSameEventsAsTreeWalk() {
+        ClassNameListener treeListener = new ClassNameListener();
+        parse(treeListener, false);
+        ClassNameListener parseTimeListener = new ClassNameListener();
+        parse(parseTimeListener, true);
+
+        assertFalse("We expect class names.", treeListener.classNames.isEmpty());
+        assertEquals("We expect the same class names.", treeListener.classNames, parseTimeListener.classNames);
+    }
+
+    @Test
+    public void declarationListenerCreatesSameTreeWhileParsing() throws IOException {
+        byte[] treeWalk = parseAndSerialize(ParserOptions.builder().build());
+        byte[] parseTime = parseAndSerialize(ParserOptions.builder().parseTimeListening(true).build());
+        byte[] parallelParseTime = parseAndSerialize(ParserOptions.builder().parseTimeListening(true).workerCount(4).build());
+
+        assertArrayEquals("We expect the same tree while parsing.", treeWalk, parseTime);
+        assertArrayEquals("We expect the same tree while parsing with 4 workers.", treeWalk, parallelParseTime);
+    }
+
+    @Test
+    public void declarationListenerSupportsParseTimeListening() {
+        JavaDeclarationListener listener = new JavaDeclarationListener(AnalysisSession.builder().build());
+
+        assertTrue("We expect the declaration listener to be executed while parsing.", listener.supportsParseTimeListening());
+        assertNotSame("We expect a new listener for each worker.", listener, listener.createWorkerListener());
+    }
+
+    // #################################################################################################################
+    private byte[] parseAndSerialize(ParserOptions options) throws IOException {
+        AnalysisSession session = AnalysisSession.builder().build();
+        JavaSourceParser parser = JavaSourceParser.builder().session(session).options(options).build();
+        // Without the structure listener, which would merge the declarations again
+        parser.setListeners(List.of(new JavaDeclarationListener(session)));
+        parser.parseFiles(files);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(session.getJavaApplication().getComponents());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void parse(ListenerBase listener, boolean parseTimeListening) {
+        JavaSourceParser parser = JavaSourceParser.builder()
+            .session(AnalysisSession.builder().build())
+            .options(ParserOptions.builder().parseTimeListening(parseTimeListening).build())
+            .build();
+        parser.setListeners(List.of(listener));
+        parser.parseFiles(files);
+    }
+
+    private static class ClassNameListener extends JavaParserBaseListener implements ListenerBase {
+        private final List<String> classNames = new ArrayList<>();
+        private String sourceName;
+
+        @Override
+        public void exitClassDeclaration(JavaParser.ClassDeclarationContext ctx) {
+            // Only the tokens of the rule are available while parsing
+            classNames.add(sourceName + ":" + ctx.IDENTIFIER().getText());
+        }
+
+        @Override
+        public Component getResult() {
+            return Component.builder().type(ROOT).value("root").build();
+        }
+
+        @Override
+        public void setSourceName(String sourceName) {
+            this.sourceName = sourceName;
+        }
+
+        @Override
+        public void reset() {
+            sourceName = null;
+        }
+
+        @Override
+        public boolean supportsParseTimeListening() {
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.perser.common.ApplicationBase;
+import de.marabs.analyse.perser.common.ListenerBase;
+import de.marabs.analyse.perser.common.ParserOptions;
+import de.marabs.analyse.perser.common.ParserResult;
+import de.marabs.analyse.perser.common.SourceParserBase;
+import de.marabs.analyse.perser.common.library.Library;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit test cases of {@link SourceParserBase} class.
+ *
+ * @author Martin Absmeier
+ */
+public class SourceParserBaseTest {
+
+    private static final int WORKER_COUNT = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void executeParserDispatchesMostExpensiveFilesFirst() throws IOException {
+        // The files are found from the cheapest to the most expensive one
+        List<File> files = new ArrayList<>();
+        for (int size = 1; size <= 8; size++) {
+            files.add(createFile(size * 100));
+        }
+        RecordingSourceParser parser = new RecordingSourceParser();
+        parser.parseFiles(() -> new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < files.size();
+            }
+
+            @Override
+            public File next() {
+                if (index == files.size() - 1) {
+                    // The most expensive file is found last, the workers must not start with the files found so far
+                    parser.awaitFirstFiles(500, MILLISECONDS);
+                }
+                return files.get(index++);
+            }
+        });
+
+        assertEquals("We expect all files to be parsed.", files.size(), parser.dispatchedFiles.size());
+        Set<File> firstDispatched = new HashSet<>(parser.dispatchedFiles.subList(0, WORKER_COUNT));
+        Set<File> mostExpensive = new HashSet<>(files.subList(files.size() - WORKER_COUNT, files.size()));
+        assertEquals("We expect the most expensive files to be dispatched first.", mostExpensive, firstDispatched);
+    }
+
+    // #################################################################################################################
+    private File createFile(int size) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+
+    private static ApplicationBase createApplication() {
+        return new ApplicationBase() {
+            @Override
+            public void updateComponent(Component source, Component target) {
+            }
+
+            @Override
+            public boolean isComponentVisible(Component component, Component visibleFrom, boolean withinInheritance) {
+                return true;
+            }
+        };
+    }
+
+    private static class RecordingSourceParser extends SourceParserBase {
+        private final List<File> dispatchedFiles = Collections.synchronizedList(new ArrayList<>());
+        // No worker takes a second file before every worker has taken its first one
+        private final CountDownLatch firstFiles = new CountDownLatch(WORKER_COUNT);
+
+        private RecordingSourceParser() {
+            super(createApplication(), ParserOptions.builder().workerCount(WORKER_COUNT).build());
+        }
+
+        private void awaitFirstFiles(long timeout, TimeUnit unit) {
+            try {
+                firstFiles.await(timeout, unit);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void parseFiles(Iterable<File> files) {
+            executeParser(files);
+        }
+
+        @Override
+        protected ParserResult tryPredictionMode(File file, PredictionMode mode, ListenerBase parseListener) {
+            dispatchedFiles.add(file);
+            firstFiles.countDown();
+            awaitFirstFiles(10, SECONDS);
+            return ParserResult.builder().sourceName(file.getName()).predictionMode(mode).build();
+        }
+
+        @Override
+        protected void initLibrary(Library entry) {
+        }
+
+        @Override
+        protected void initDefaultListeners() {
+        }
+    }
+}
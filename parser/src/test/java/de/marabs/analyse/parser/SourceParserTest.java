@@ -16,22 +16,33 @@
 package de.marabs.analyse.parser;
 
 import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.perser.AnalysisSession;
 import de.marabs.analyse.perser.SourceParser;
 import de.marabs.analyse.perser.SourceType;
 import de.marabs.analyse.perser.common.ListenerBase;
+import de.marabs.analyse.perser.common.ParserOptions;
 import de.marabs.analyse.perser.common.library.Library;
 import de.marabs.analyse.perser.java.JavaApplication;
+import de.marabs.analyse.perser.java.JavaSourceParser;
 import de.marabs.analyse.perser.java.listener.JavaDeclarationListener;
 import de.marabs.analyse.perser.java.listener.JavaStructureListener;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
 import static de.marabs.analyse.perser.SourceType.JAVA;
 import static java.io.File.separator;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
 
 /**
@@ -47,29 +58,121 @@ public class SourceParserTest {
         .concat("resources").concat(separator)
         .concat("java").concat(separator);
     private File directory;
-    private final String revisionId = UUID.randomUUID().toString();
+    private AnalysisSession session;
 
     @Before
     public void setUp() {
         directory = new File(rootPath);
+        session = AnalysisSession.builder().libraries(getLibraries()).build();
     }
 
     @Test
     public void testJavaSourceParser() {
         SourceParser parser = SourceParser.builder()
-            .libraries(getLibraries())
+            .session(session)
             .listeners(getDefaultListeners(JAVA))
             .build();
         parser.parseDirectory(JAVA, directory);
 
-        JavaApplication application = JavaApplication.getInstance();
+        JavaApplication application = session.getJavaApplication();
         assertNotNull("We expect an instance.", application);
 
         Component components = application.getComponents();
         assertNotNull("We expect components.", components);
     }
 
+    @Test
+    public void testJavaSourceParserParallel() {
+        SourceParser parser = SourceParser.builder()
+            .session(session)
+            .listeners(getDefaultListeners(JAVA))
+            .options(ParserOptions.builder().workerCount(4).build())
+            .build();
+        parser.parseDirectory(JAVA, directory);
+
+        JavaApplication application = session.getJavaApplication();
+        assertNotNull("We expect an instance.", application);
+
+        Component components = application.getComponents();
+        assertNotNull("We expect components.", components);
+    }
+
+    @Test
+    public void testJavaSourceParserStreaming() {
+        SourceParser parser = SourceParser.builder()
+            .session(session)
+            .listeners(getDefaultListeners(JAVA))
+            .options(ParserOptions.builder().workerCount(4).streaming(true).build())
+            .build();
+        parser.parseDirectory(JAVA, directory);
+
+        JavaApplication application = session.getJavaApplication();
+        assertNotNull("We expect an instance.", application);
+
+        Component components = application.getComponents();
+        assertNotNull("We expect components.", components);
+    }
+
+    @Test
+    public void testJavaSourceParserDeclarationsOnly() {
+        SourceParser parser = SourceParser.builder()
+            .session(session)
+            .listeners(getDefaultListeners(JAVA))
+            .options(ParserOptions.builder().declarationsOnly(true).build())
+            .build();
+        parser.parseDirectory(JAVA, directory);
+
+        JavaApplication application = session.getJavaApplication();
+        assertNotNull("We expect an instance.", application);
+
+        Component components = application.getComponents();
+        assertNotNull("We expect components.", components);
+    }
+
+    @Test
+    public void testJavaSourceParserIsIndependentOfFileOrderAndWorkerCount() throws IOException {
+        List<File> files = new ArrayList<>(FileUtils.findFiles(directory, "java"));
+        byte[] sequential = parseAndSerialize(files, ParserOptions.builder().workerCount(1).build());
+
+        Collections.reverse(files);
+        byte[] parallel = parseAndSerialize(files, ParserOptions.builder().workerCount(4).build());
+
+        Collections.shuffle(files, new Random(4711));
+        byte[] streaming = parseAndSerialize(files, ParserOptions.builder().workerCount(8).streaming(true).build());
+
+        assertArrayEquals("We expect the same tree with 4 workers.", sequential, parallel);
+        assertArrayEquals("We expect the same tree with 8 streaming workers.", sequential, streaming);
+    }
+
+    @Test
+    public void testJavaSourceParserSessionsAreIndependent() throws Exception {
+        List<File> files = new ArrayList<>(FileUtils.findFiles(directory, "java"));
+        byte[] expected = parseAndSerialize(files, ParserOptions.defaults());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<byte[]> first = executor.submit(() -> parseAndSerialize(files, ParserOptions.defaults()));
+            Future<byte[]> second = executor.submit(() -> parseAndSerialize(files, ParserOptions.defaults()));
+
+            assertArrayEquals("We expect the tree of the first session.", expected, first.get());
+            assertArrayEquals("We expect the tree of the second session.", expected, second.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     // #################################################################################################################
+    private byte[] parseAndSerialize(List<File> files, ParserOptions options) throws IOException {
+        AnalysisSession fileSession = AnalysisSession.builder().build();
+        JavaSourceParser.builder().session(fileSession).options(options).build().parseFiles(files);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(fileSession.getJavaApplication().getComponents());
+        }
+        return bytes.toByteArray();
+    }
+
     private Map<SourceType, Library[]> getLibraries() {
         return new HashMap<>();
 
@@ -87,8 +190,8 @@ public class SourceParserTest {
 
         if (type == JAVA) {
             defaultListeners.addAll(
-                List.of(new JavaDeclarationListener(revisionId),
-                        new JavaStructureListener(revisionId))
+                List.of(new JavaDeclarationListener(session),
+                        new JavaStructureListener(session))
             );
         }
 
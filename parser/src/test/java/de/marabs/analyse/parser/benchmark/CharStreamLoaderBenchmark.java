@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser.benchmark;
+
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.perser.common.CharStreamLoader;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static java.io.File.separator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * JMH benchmark of {@link CharStreamLoader} compared with {@link CharStreams#fromFileName(String)} on the java files of
+ * the test resources.<br>
+ * Run it from the parser module with the test classpath, e.g. from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=<this class>}.
+ *
+ * @author Martin Absmeier
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharStreamLoaderBenchmark {
+
+    private List<File> files;
+
+    @Setup
+    public void setUp() {
+        String rootPath = USER_DIR.concat(separator)
+            .concat("src").concat(separator)
+            .concat("test").concat(separator)
+            .concat("resources").concat(separator)
+            .concat("java").concat(separator);
+        files = FileUtils.findFiles(new File(rootPath), "java");
+    }
+
+    @Benchmark
+    public void charStreams(Blackhole blackhole) throws IOException {
+        for (File file : files) {
+            CharStream stream = CharStreams.fromFileName(file.getAbsolutePath());
+            blackhole.consume(stream.LA(1));
+        }
+    }
+
+    @Benchmark
+    public void charStreamLoader(Blackhole blackhole) throws IOException {
+        for (File file : files) {
+            CharStream stream = CharStreamLoader.load(file, UTF_8);
+            blackhole.consume(stream.LA(1));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CharStreamLoaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
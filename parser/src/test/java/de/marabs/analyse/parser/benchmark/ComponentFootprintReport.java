@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser.benchmark;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.type.ComponentType;
+import de.marabs.analyse.perser.AnalysisSession;
+import de.marabs.analyse.perser.SourceParser;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static de.marabs.analyse.perser.SourceType.JAVA;
+import static java.io.File.separator;
+
+/**
+ * Reports the memory of the children and attribute lists of the components per {@link ComponentType} after parsing a
+ * directory (default: the test resources). The sizes are computed from the layout of a 64-bit JVM with compressed
+ * references like JOL reports them:<br>
+ * - ArrayList: 24 bytes, its Object[]: 16 bytes + 4 bytes per slot, aligned to 8 bytes<br>
+ * - eager: every component has two ArrayLists, a non-empty one grown from the default capacity of 10 by 1.5<br>
+ * - lazy: components without children or attributes share an empty list, the others are trimmed to their size
+ *
+ * @author Martin Absmeier
+ */
+public class ComponentFootprintReport {
+
+    private static final int ARRAY_LIST_BYTES = 24;
+
+    public static void main(String[] args) {
+        String rootPath = args.length > 0 ? args[0] : USER_DIR.concat(separator)
+            .concat("src").concat(separator)
+            .concat("test").concat(separator)
+            .concat("resources").concat(separator)
+            .concat("java").concat(separator);
+        AnalysisSession session = AnalysisSession.builder().build();
+        SourceParser.builder().session(session).build().parseDirectory(JAVA, new File(rootPath));
+
+        Map<ComponentType, long[]> footprints = new EnumMap<>(ComponentType.class);
+        Deque<Component> stack = new ArrayDeque<>();
+        stack.push(session.getJavaApplication().getComponents());
+        while (!stack.isEmpty()) {
+            Component component = stack.pop();
+            long[] footprint = footprints.computeIfAbsent(component.getType(), type -> new long[3]);
+            footprint[0]++;
+            footprint[1] += eagerBytes(component.getChildren()) + eagerBytes(component.getAttributes());
+            footprint[2] += lazyBytes(component.getChildren()) + lazyBytes(component.getAttributes());
+            component.getChildren().forEach(stack::push);
+        }
+
+        long[] total = new long[3];
+        System.out.printf("%-28s %10s %14s %14s %8s%n", "TYPE", "COUNT", "EAGER [B]", "LAZY [B]", "SAVED");
+        footprints.forEach((type, footprint) -> {
+            print(type.name(), footprint);
+            for (int i = 0; i < total.length; i++) {
+                total[i] += footprint[i];
+            }
+        });
+        print("TOTAL", total);
+    }
+
+    // #################################################################################################################
+    private static long eagerBytes(List<?> list) {
+        if (list.isEmpty()) {
+            return ARRAY_LIST_BYTES;
+        }
+        int capacity = 10;
+        while (capacity < list.size()) {
+            capacity += capacity >> 1;
+        }
+        return ARRAY_LIST_BYTES + arrayBytes(capacity);
+    }
+
+    private static long lazyBytes(List<?> list) {
+        return list.isEmpty() ? 0 : ARRAY_LIST_BYTES + arrayBytes(list.size());
+    }
+
+    private static long arrayBytes(int length) {
+        return (16 + 4L * length + 7) & ~7;
+    }
+
+    private static void print(String name, long[] footprint) {
+        System.out.printf("%-28s %10d %14d %14d %7.1f%%%n", name, footprint[0], footprint[1], footprint[2],
+                          100.0 * (footprint[1] - footprint[2]) / footprint[1]);
+    }
+
+    private ComponentFootprintReport() {
+        // Started by main method
+    }
+}
\ No newline at end of file
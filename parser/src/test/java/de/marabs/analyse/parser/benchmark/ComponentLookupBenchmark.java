@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser.benchmark;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.perser.common.ApplicationBase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+
+/**
+ * JMH benchmark of {@link ApplicationBase#findComponentByUniqueCoordinate(String)} with an application of the size of
+ * the JDK (about 6000 classes with 15 methods each) compared with a scan of the flattened component tree.
+ *
+ * @author Martin Absmeier
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentLookupBenchmark {
+
+    private static final int PACKAGES = 300;
+    private static final int CLASSES = 20;
+    private static final int METHODS = 15;
+
+    private ApplicationBase application;
+    private List<String> coordinates;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        application = new ApplicationBase() {
+            @Override
+            public void updateComponent(Component source, Component target) {
+                // Nothing to update
+            }
+
+            @Override
+            public boolean isComponentVisible(Component component, Component visibleFrom, boolean withinInheritance) {
+                return true;
+            }
+        };
+
+        coordinates = new ArrayList<>();
+        for (int p = 0; p < PACKAGES; p++) {
+            for (int c = 0; c < CLASSES; c++) {
+                application.mergeWithApplication(createFile(p, c));
+                coordinates.add("java.package" + p + ".Class" + c);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object scanFlattenedTree() {
+        // The lookup as it was done before the index was maintained
+        String uniqueCoordinate = nextCoordinate();
+        return flatten(application.getComponents()).stream().parallel()
+            .filter(cmp -> uniqueCoordinate.equals(cmp.getUniqueCoordinate()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Benchmark
+    public Object coordinateIndex() {
+        return application.findComponentByUniqueCoordinate(nextCoordinate());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ComponentLookupBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    // #################################################################################################################
+    private String nextCoordinate() {
+        String coordinate = coordinates.get(index);
+        index = (index + 997) % coordinates.size();
+        return coordinate;
+    }
+
+    private static Component createFile(int packageNumber, int classNumber) {
+        Component clazz = Component.builder().type(JAVA_CLASS).value("Class" + classNumber).build();
+        for (int m = 0; m < METHODS; m++) {
+            clazz.addChild(Component.builder().type(JAVA_METHOD).value("method" + m).build());
+        }
+
+        Component subPackage = Component.builder().type(JAVA_PACKAGE).value("package" + packageNumber).build();
+        subPackage.addChild(clazz);
+        Component rootPackage = Component.builder().type(JAVA_PACKAGE).value("java").build();
+        rootPackage.addChild(subPackage);
+        Component file = Component.builder().type(ROOT).value(ROOT.name()).build();
+        file.addChild(rootPackage);
+        return file;
+    }
+
+    private static List<Component> flatten(Component component) {
+        List<Component> allChildren = new ArrayList<>();
+        for (Component child : component.getChildren()) {
+            allChildren.add(child);
+            allChildren.addAll(flatten(child));
+        }
+        return allChildren;
+    }
+}
\ No newline at end of file
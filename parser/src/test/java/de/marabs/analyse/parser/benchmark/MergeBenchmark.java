@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser.benchmark;
+
+import de.marabs.analyse.common.component.Component;
+import de.marabs.analyse.common.component.ComponentAttribute;
+import de.marabs.analyse.perser.common.ApplicationBase;
+import de.marabs.analyse.perser.java.JavaApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.marabs.analyse.common.component.type.ComponentAttributeType.JAVA_ANNOTATED;
+import static de.marabs.analyse.common.component.type.ComponentType.*;
+import static java.util.Objects.isNull;
+
+/**
+ * JMH benchmark of {@link ApplicationBase#mergeWithApplication(Component)} with 50000 synthetic compilation units
+ * (50 packages with 1000 classes each, every class with overloaded methods and attributes) compared with the merge that
+ * searches the children and attributes of the target for every child and attribute of the source.<br>
+ * The units of the first pass are merged upfront, so the measured second pass merges every unit into existing
+ * classes like the passes of the listeners do. Merging moves the components of the units into the application, so the
+ * application and the units are created again for every iteration.
+ *
+ * @author Martin Absmeier
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MergeBenchmark {
+
+    private static final int PACKAGES = 50;
+    private static final int CLASSES = 1000;
+    private static final int METHODS = 5;
+    private static final int OVERLOADS = 2;
+    private static final int ANNOTATIONS = 4;
+
+    private final JavaApplication javaApplication = new JavaApplication();
+    private ApplicationBase application;
+    private List<Component> units;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        application = new ApplicationBase() {
+            @Override
+            public void updateComponent(Component source, Component target) {
+                javaApplication.updateComponent(source, target);
+            }
+
+            @Override
+            public boolean isComponentVisible(Component component, Component visibleFrom, boolean withinInheritance) {
+                return true;
+            }
+        };
+
+        createUnits().forEach(application::mergeWithApplication);
+        units = createUnits();
+    }
+
+    @Benchmark
+    public Object hashJoinMerge() {
+        units.forEach(application::mergeWithApplication);
+        return application.getComponents();
+    }
+
+    @Benchmark
+    public Object findChildMerge() {
+        // The merge as it was done before the children and attributes were hashed once per level, it merges all
+        // overloads into the first one
+        Component root = application.getComponents();
+        units.forEach(unit -> findChildMerge(unit, root));
+        return root;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MergeBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    // #################################################################################################################
+    private void findChildMerge(Component component, Component pointer) {
+        if (component.equals(pointer)) {
+            component.getAttributes().forEach(attribute -> {
+                if (!pointer.containsAttribute(attribute)) {
+                    pointer.addAttribute(attribute);
+                }
+            });
+        }
+
+        for (Component child : component.getChildren()) {
+            Component newPointer = pointer.findChild(child);
+            if (isNull(newPointer)) {
+                pointer.addChild(child);
+            } else {
+                findChildMerge(child, newPointer);
+            }
+        }
+    }
+
+    private static List<Component> createUnits() {
+        List<Component> units = new ArrayList<>();
+        for (int c = 0; c < CLASSES; c++) {
+            for (int p = 0; p < PACKAGES; p++) {
+                units.add(createUnit(p, c));
+            }
+        }
+        return units;
+    }
+
+    private static Component createUnit(int packageNumber, int classNumber) {
+        Component clazz = Component.builder().type(JAVA_CLASS).value("Class" + classNumber).build();
+        addAnnotations(clazz);
+        for (int m = 0; m < METHODS; m++) {
+            for (int o = 0; o < OVERLOADS; o++) {
+                Component method = Component.builder().type(JAVA_METHOD).value("method" + m).build();
+                addAnnotations(method);
+                clazz.addChild(method);
+            }
+        }
+
+        Component subPackage = Component.builder().type(JAVA_PACKAGE).value("package" + packageNumber).build();
+        subPackage.addChild(clazz);
+        Component rootPackage = Component.builder().type(JAVA_PACKAGE).value("de").build();
+        rootPackage.addChild(subPackage);
+        Component unit = Component.builder().type(ROOT).value(ROOT.name()).build();
+        unit.addChild(rootPackage);
+        return unit;
+    }
+
+    private static void addAnnotations(Component component) {
+        for (int a = 0; a < ANNOTATIONS; a++) {
+            component.addAttribute(new ComponentAttribute(JAVA_ANNOTATED, "Annotation" + a));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Martin Absmeier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.marabs.analyse.parser.benchmark;
+
+import de.marabs.analyse.common.util.FileUtils;
+import de.marabs.analyse.parser.generated.java.JavaLexer;
+import de.marabs.analyse.parser.generated.java.JavaParser;
+import de.marabs.analyse.perser.common.CharStreamLoader;
+import de.marabs.analyse.perser.common.LoggingErrorListener;
+import de.marabs.analyse.perser.java.JavaParserPool;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.marabs.analyse.common.constant.CommonConstants.USER_DIR;
+import static java.io.File.separator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * JMH benchmark of the {@link JavaParserPool} compared with a new lexer and parser for every file.<br>
+ * Each operation parses one file of the test resources, so with the {@link GCProfiler} ({@code -prof gc}) the
+ * {@code gc.alloc.rate.norm} metric is the allocated bytes per file. The sources are loaded upfront, so only the
+ * allocations of lexing and parsing are measured.
+ *
+ * @author Martin Absmeier
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserAllocationBenchmark {
+
+    private final JavaParserPool pool = new JavaParserPool();
+    private List<CharStream> sources;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        String rootPath = USER_DIR.concat(separator)
+            .concat("src").concat(separator)
+            .concat("test").concat(separator)
+            .concat("resources").concat(separator)
+            .concat("java").concat(separator);
+        sources = new ArrayList<>();
+        for (File file : FileUtils.findFiles(new File(rootPath), "java")) {
+            sources.add(CharStreamLoader.load(file, UTF_8));
+        }
+    }
+
+    @Benchmark
+    public Object newParserPerFile() {
+        JavaLexer lexer = new JavaLexer(nextSource());
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new LoggingErrorListener());
+
+        JavaParser parser = new JavaParser(new CommonTokenStream(lexer));
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        return parser.compilationUnit();
+    }
+
+    @Benchmark
+    public Object pooledParser() {
+        return pool.prepare(nextSource(), PredictionMode.SLL).compilationUnit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ParserAllocationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    // #################################################################################################################
+    private CharStream nextSource() {
+        CharStream source = sources.get(index);
+        index = (index + 1) % sources.size();
+        source.seek(0);
+        return source;
+    }
+}
\ No newline at end of file